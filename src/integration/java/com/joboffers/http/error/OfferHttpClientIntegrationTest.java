@@ -5,11 +5,18 @@ import com.github.tomakehurst.wiremock.http.Fault;
 import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
 import com.joboffers.SampleJobOfferResponse;
 import com.joboffers.domain.offer.OfferFetchable;
+import com.joboffers.domain.offer.dto.JobOfferResponseDto;
+import com.joboffers.infrastructure.offer.http.OfferPaginationMode;
+import com.joboffers.infrastructure.offer.http.OfferPaginationProperties;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.web.server.ResponseStatusException;
 import wiremock.org.apache.hc.core5.http.HttpStatus;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
@@ -152,5 +159,105 @@ public class OfferHttpClientIntegrationTest implements SampleJobOfferResponse {
         assertThat(throwable).isInstanceOf(ResponseStatusException.class);
         assertThat(throwable.getMessage()).isEqualTo("401 UNAUTHORIZED");
     }
-}
 
+    @Test
+    void should_return_no_offers_when_upstream_responds_not_modified_to_remembered_etag() {
+        // given
+        wireMockServer.stubFor(WireMock.get(URL)
+                .willReturn(WireMock.aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withHeader(CONTENT_TYPE_HEADER_KEY, APPLICATION_JSON_CONTENT_TYPE_VALUE)
+                        .withHeader("ETag", "\"v1\"")
+                        .withBody(bodyWithTwoOffersJson())));
+        wireMockServer.stubFor(WireMock.get(URL)
+                .withHeader("If-None-Match", WireMock.equalTo("\"v1\""))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(HttpStatus.SC_NOT_MODIFIED)));
+        offerFetchable.fetchOffers();
+        offerFetchable.confirmFetched();
+
+        // when
+        List<JobOfferResponseDto> offers = offerFetchable.fetchOffers();
+
+        // then
+        assertThat(offers).isEmpty();
+    }
+
+    @Test
+    void should_fetch_offers_again_when_previous_fetch_was_not_confirmed() {
+        // given
+        wireMockServer.stubFor(WireMock.get(URL)
+                .willReturn(WireMock.aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withHeader(CONTENT_TYPE_HEADER_KEY, APPLICATION_JSON_CONTENT_TYPE_VALUE)
+                        .withHeader("ETag", "\"v1\"")
+                        .withBody(bodyWithTwoOffersJson())));
+        wireMockServer.stubFor(WireMock.get(URL)
+                .withHeader("If-None-Match", WireMock.equalTo("\"v1\""))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(HttpStatus.SC_NOT_MODIFIED)));
+        offerFetchable.fetchOffers();
+
+        // when
+        List<JobOfferResponseDto> offers = offerFetchable.fetchOffers();
+
+        // then
+        assertThat(offers).hasSize(2);
+    }
+
+    @Test
+    void should_stream_offers_again_when_upstream_without_validators_returns_same_body() {
+        // given
+        wireMockServer.stubFor(WireMock.get(URL)
+                .willReturn(WireMock.aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withHeader(CONTENT_TYPE_HEADER_KEY, APPLICATION_JSON_CONTENT_TYPE_VALUE)
+                        .withBody(bodyWithTwoOffersJson())));
+        assertThat(offerFetchable.fetchOffers()).hasSize(2);
+        offerFetchable.confirmFetched();
+
+        // when
+        List<JobOfferResponseDto> offers = offerFetchable.fetchOffers();
+
+        // then
+        assertThat(offers).hasSize(2);
+    }
+
+    @Test
+    void should_fetch_pages_in_order_and_stop_after_page_with_only_known_offers() {
+        // given
+        OfferFetchable pagedOfferFetchable = new OfferHttpClientTestConfig().remoteOfferTestClient(
+                wireMockServer.getPort(),
+                1000,
+                1000,
+                new OfferPaginationProperties(OfferPaginationMode.PAGE, 2, 2, 0, "page", "size", "cursor", "X-Next-Cursor"));
+        stubPage(0, bodyWithTwoOffersJson());
+        stubPage(1, bodyWithTwoOffersJson());
+        stubPage(2, bodyWithOneOfferJson());
+        List<String> fetchedUrls = new ArrayList<>();
+
+        // when
+        pagedOfferFetchable.fetchOffers(10, offers -> {
+            boolean newOffers = false;
+            for (JobOfferResponseDto offer : offers) {
+                newOffers |= !fetchedUrls.contains(offer.offerUrl());
+                fetchedUrls.add(offer.offerUrl());
+            }
+            return CompletableFuture.completedFuture(newOffers);
+        });
+
+        // then
+        assertThat(fetchedUrls).hasSize(4);
+        wireMockServer.verify(0, WireMock.getRequestedFor(WireMock.urlPathEqualTo(URL))
+                .withQueryParam("page", WireMock.equalTo("3")));
+    }
+
+    private void stubPage(int page, String body) {
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo(URL))
+                .withQueryParam("page", WireMock.equalTo(String.valueOf(page)))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withHeader(CONTENT_TYPE_HEADER_KEY, APPLICATION_JSON_CONTENT_TYPE_VALUE)
+                        .withBody(body)));
+    }
+}
@@ -1,15 +1,27 @@
 package com.joboffers.http.error;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.joboffers.domain.offer.OfferFetchable;
 import com.joboffers.infrastructure.offer.http.OfferHttpClientConfig;
+import com.joboffers.infrastructure.offer.http.OfferHttpTransport;
+import com.joboffers.infrastructure.offer.http.OfferPaginationProperties;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+
 import static com.joboffers.BaseIntegrationTest.WIRE_MOCK_HOST;
 
 public class OfferHttpClientTestConfig extends OfferHttpClientConfig {
 
     public OfferFetchable remoteOfferTestClient(int port, int connectionTimeout, int readTimeout) {
-        RestTemplate restTemplate = restTemplate(connectionTimeout, readTimeout, restTemplateResponseErrorHandler());
-        return remoteOfferClient(restTemplate, WIRE_MOCK_HOST, port);
+        return remoteOfferTestClient(port, connectionTimeout, readTimeout, OfferPaginationProperties.NONE);
+    }
+
+    public OfferFetchable remoteOfferTestClient(int port, int connectionTimeout, int readTimeout,
+                                                OfferPaginationProperties pagination) {
+        RestTemplate restTemplate = restTemplate(connectionTimeout, readTimeout,
+                offerHttpTransportSettings(OfferHttpTransport.JDK, HttpClient.Version.HTTP_2, true),
+                restTemplateResponseErrorHandler());
+        return remoteOfferClient(restTemplate, WIRE_MOCK_HOST, port, new ObjectMapper(), pagination);
     }
 }
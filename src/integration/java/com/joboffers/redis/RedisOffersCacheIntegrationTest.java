@@ -2,6 +2,7 @@ package com.joboffers.redis;
 
 import com.joboffers.BaseIntegrationTest;
 import com.joboffers.domain.offer.OfferFacade;
+import com.joboffers.domain.offer.OffersVersion;
 import com.joboffers.infrastructure.loginandregister.controller.dto.JwtResponseDto;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +20,7 @@ import java.time.Duration;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -89,7 +91,7 @@ class RedisOffersCacheIntegrationTest extends BaseIntegrationTest {
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
         );
         // then
-        verify(offerFacade, times(1)).findAllOffers();
+        verify(offerFacade, times(1)).findAllOffers(any(OffersVersion.class));
         assertThat(cacheManager.getCacheNames().contains("jobOffers")).isTrue();
 
         // step 4: cache should be invalidated
@@ -102,7 +104,7 @@ class RedisOffersCacheIntegrationTest extends BaseIntegrationTest {
                                     .header("Authorization", "Bearer " + jwtToken)
                                     .contentType(MediaType.APPLICATION_JSON_VALUE)
                             );
-                            verify(offerFacade, atLeast(2)).findAllOffers();
+                            verify(offerFacade, atLeast(2)).findAllOffers(any(OffersVersion.class));
                         }
                 );
     }
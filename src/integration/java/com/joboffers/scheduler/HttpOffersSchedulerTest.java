@@ -9,6 +9,8 @@ import org.springframework.boot.test.mock.mockito.SpyBean;
 
 import java.time.Duration;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.testcontainers.shaded.org.awaitility.Awaitility.await;
@@ -23,6 +25,6 @@ public class HttpOffersSchedulerTest extends BaseIntegrationTest {
     public void should_run_http_client_offers_fetching_exactly_given_times() {
         await().
                 atMost(Duration.ofSeconds(2))
-                .untilAsserted(() -> verify(remoteOfferClient, times(2)).fetchOffers());
+                .untilAsserted(() -> verify(remoteOfferClient, times(2)).fetchOffers(anyInt(), any()));
     }
 }
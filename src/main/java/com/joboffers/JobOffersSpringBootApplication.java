@@ -1,13 +1,19 @@
 package com.joboffers;
 
 
+import com.joboffers.domain.offer.OfferIngestionProperties;
+import com.joboffers.infrastructure.cache.NearCacheProperties;
+import com.joboffers.infrastructure.offer.http.OfferPaginationProperties;
+import com.joboffers.infrastructure.offer.http.OfferSourcesProperties;
 import com.joboffers.infrastructure.security.jwt.JwtConfigurationProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication
-@EnableConfigurationProperties(value = {JwtConfigurationProperties.class})
+@EnableConfigurationProperties(value = {JwtConfigurationProperties.class, NearCacheProperties.class,
+        OfferSourcesProperties.class, OfferPaginationProperties.class,
+        OfferIngestionProperties.class})
 public class JobOffersSpringBootApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,19 @@
+package com.joboffers.domain.offer;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+class InMemoryOfferUrlFilterStore implements OfferUrlFilterStore {
+
+    private final AtomicReference<byte[]> snapshot = new AtomicReference<>();
+
+    @Override
+    public Optional<byte[]> load() {
+        return Optional.ofNullable(snapshot.get());
+    }
+
+    @Override
+    public void save(byte[] snapshot) {
+        this.snapshot.set(snapshot);
+    }
+}
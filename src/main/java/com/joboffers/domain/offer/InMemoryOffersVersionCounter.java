@@ -0,0 +1,20 @@
+package com.joboffers.domain.offer;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+class InMemoryOffersVersionCounter implements OffersVersionCounter {
+
+    private final String epoch = UUID.randomUUID().toString();
+    private final AtomicLong version = new AtomicLong();
+
+    @Override
+    public OffersVersion currentVersion() {
+        return new OffersVersion(epoch, version.get());
+    }
+
+    @Override
+    public OffersVersion incrementVersion() {
+        return new OffersVersion(epoch, version.incrementAndGet());
+    }
+}
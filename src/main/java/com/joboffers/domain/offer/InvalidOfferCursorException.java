@@ -0,0 +1,7 @@
+package com.joboffers.domain.offer;
+
+public class InvalidOfferCursorException extends RuntimeException {
+    public InvalidOfferCursorException(String cursor) {
+        super(String.format("Offers cursor %s is not valid", cursor));
+    }
+}
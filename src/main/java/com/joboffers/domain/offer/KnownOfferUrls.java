@@ -0,0 +1,138 @@
+package com.joboffers.domain.offer;
+
+import com.joboffers.domain.offer.dto.OfferResponseDto;
+import org.springframework.data.domain.PageRequest;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+class KnownOfferUrls implements OffersSavedListener {
+
+    private static final int SNAPSHOT_FORMAT_VERSION = 2;
+    private static final int TOP_UP_PAGE_SIZE = 1000;
+
+    private final OfferRepository offerRepository;
+    private final OfferUrlFilterStore filterStore;
+    private final Clock clock;
+    private final int expectedInsertions;
+    private final double falsePositiveProbability;
+    private OfferUrlBloomFilter filter;
+    private Instant indexedUntil;
+    private boolean dirty;
+
+    KnownOfferUrls(OfferRepository offerRepository, OfferUrlFilterStore filterStore, Clock clock,
+                   int expectedInsertions, double falsePositiveProbability) {
+        this.offerRepository = offerRepository;
+        this.filterStore = filterStore;
+        this.clock = clock;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    synchronized void warmUp() {
+        if (filter == null && !restore()) {
+            rebuild(expectedInsertions);
+        }
+        topUp();
+        if (filter.isSaturated()) {
+            rebuild(filter.expectedInsertions() * 2);
+        }
+    }
+
+    synchronized void refresh() {
+        warmUp();
+        if (dirty) {
+            filterStore.save(snapshot());
+            dirty = false;
+        }
+    }
+
+    synchronized List<String> retainMaybeKnown(Collection<String> offerUrls) {
+        if (filter == null) {
+            return List.copyOf(offerUrls);
+        }
+        return offerUrls.stream()
+                .filter(filter::mightContain)
+                .toList();
+    }
+
+    @Override
+    public synchronized void offersSaved(List<OfferResponseDto> savedOffers) {
+        if (filter == null) {
+            return;
+        }
+        for (OfferResponseDto offer : savedOffers) {
+            dirty |= filter.put(offer.offerUrl());
+        }
+    }
+
+    private void topUp() {
+        final Instant now = clock.instant();
+        Instant afterUpdatedAt = indexedUntil;
+        String afterId = "";
+        List<Offer> changedOffers;
+        do {
+            changedOffers = offerRepository.findChangedAfter(afterUpdatedAt, afterId, now,
+                    PageRequest.of(0, TOP_UP_PAGE_SIZE));
+            for (Offer offer : changedOffers) {
+                dirty |= filter.put(offer.offerUrl());
+                afterUpdatedAt = offer.updatedAt();
+                afterId = offer.id();
+            }
+        } while (changedOffers.size() == TOP_UP_PAGE_SIZE);
+        final Instant settledUntil = settledUntil(now);
+        if (settledUntil.isAfter(indexedUntil)) {
+            indexedUntil = settledUntil;
+        }
+    }
+
+    private void rebuild(int capacity) {
+        final Instant startedAt = clock.instant();
+        final long storedOffers = offerRepository.count();
+        final OfferUrlBloomFilter rebuilt = OfferUrlBloomFilter.create(
+                (int) Math.max(capacity, Math.min(Integer.MAX_VALUE / 2, storedOffers * 2)), falsePositiveProbability);
+        try (Stream<Offer> offers = offerRepository.streamAllBy()) {
+            offers.forEach(offer -> rebuilt.put(offer.offerUrl()));
+        }
+        filter = rebuilt;
+        indexedUntil = settledUntil(startedAt);
+        dirty = true;
+    }
+
+    private boolean restore() {
+        final Optional<byte[]> snapshot = filterStore.load();
+        if (snapshot.isEmpty()) {
+            return false;
+        }
+        try {
+            final ByteBuffer buffer = ByteBuffer.wrap(snapshot.get());
+            if (buffer.getInt() != SNAPSHOT_FORMAT_VERSION) {
+                return false;
+            }
+            final Instant restoredUntil = Instant.ofEpochMilli(buffer.getLong());
+            filter = OfferUrlBloomFilter.fromBytes(buffer);
+            indexedUntil = restoredUntil;
+            return true;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private byte[] snapshot() {
+        final ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + Long.BYTES + filter.sizeInBytes());
+        buffer.putInt(SNAPSHOT_FORMAT_VERSION)
+                .putLong(indexedUntil.toEpochMilli());
+        filter.writeTo(buffer);
+        return buffer.array();
+    }
+
+    private static Instant settledUntil(Instant instant) {
+        return instant.minus(OfferFacade.CHANGES_SETTLE_TIME).minusMillis(1);
+    }
+}
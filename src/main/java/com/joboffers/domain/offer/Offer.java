@@ -2,16 +2,27 @@ package com.joboffers.domain.offer;
 
 import lombok.Builder;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
-@Builder
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+@Builder(toBuilder = true)
 @Document("offers")
+@CompoundIndex(name = "updated_id", def = "{'updated': 1, '_id': 1}")
 public record Offer(
         @Id String id,
         @Field("company") String companyName,
         @Field("position") String position,
         @Field("salary") String salary,
-        @Field("url") @Indexed(unique = true) String offerUrl) {
+        @Field("url") String offerUrl,
+        @Field("urlHash") @Indexed(unique = true, sparse = true) Long urlHash,
+        @Field("fingerprint") Long fingerprint,
+        @Field("minHash") List<Integer> minHash,
+        @Field("minHashBands") @Indexed List<Long> minHashBands,
+        @Field("updated") Instant updatedAt) implements Serializable {
 }
@@ -0,0 +1,17 @@
+package com.joboffers.domain.offer;
+
+import java.util.List;
+
+public class OfferBulkInsertException extends RuntimeException {
+
+    private final transient List<Offer> insertedOffers;
+
+    public OfferBulkInsertException(List<Offer> insertedOffers, RuntimeException cause) {
+        super(String.format("Bulk insert of offers failed after %d offers were inserted", insertedOffers.size()), cause);
+        this.insertedOffers = List.copyOf(insertedOffers);
+    }
+
+    public List<Offer> insertedOffers() {
+        return insertedOffers;
+    }
+}
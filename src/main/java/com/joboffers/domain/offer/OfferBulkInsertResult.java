@@ -0,0 +1,6 @@
+package com.joboffers.domain.offer;
+
+import java.util.List;
+
+public record OfferBulkInsertResult(List<Offer> insertedOffers, int skippedDuplicates) {
+}
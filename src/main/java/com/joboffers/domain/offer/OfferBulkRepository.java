@@ -0,0 +1,15 @@
+package com.joboffers.domain.offer;
+
+import java.util.List;
+
+public interface OfferBulkRepository {
+    /**
+     * Inserts offers in unordered batches, skipping the ones whose url is already stored. Any other write
+     * error is rethrown as an {@link OfferBulkInsertException} carrying the offers inserted before it.
+     */
+    OfferBulkInsertResult insertAllSkippingDuplicates(List<Offer> offers);
+
+    List<Offer> updateAllChanged(List<Offer> offers);
+
+    int assignCanonicalUrls(List<Offer> offers);
+}
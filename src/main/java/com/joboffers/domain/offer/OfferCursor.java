@@ -0,0 +1,47 @@
+package com.joboffers.domain.offer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+class OfferCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String CHANGE_SEPARATOR = ":";
+
+    record ChangePosition(Instant updatedAt, String offerId) {
+    }
+
+    static String encode(String offerId) {
+        return ENCODER.encodeToString(offerId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String decode(String cursor) {
+        try {
+            final String offerId = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            if (offerId.isBlank()) {
+                throw new InvalidOfferCursorException(cursor);
+            }
+            return offerId;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidOfferCursorException(cursor);
+        }
+    }
+
+    static String encodeChange(Instant updatedAt, String offerId) {
+        return encode(updatedAt.toEpochMilli() + CHANGE_SEPARATOR + offerId);
+    }
+
+    static ChangePosition decodeChange(String cursor) {
+        final String[] parts = decode(cursor).split(CHANGE_SEPARATOR, 2);
+        if (parts.length != 2 || parts[1].isBlank()) {
+            throw new InvalidOfferCursorException(cursor);
+        }
+        try {
+            return new ChangePosition(Instant.ofEpochMilli(Long.parseLong(parts[0])), parts[1]);
+        } catch (NumberFormatException e) {
+            throw new InvalidOfferCursorException(cursor);
+        }
+    }
+}
@@ -1,29 +1,114 @@
 package com.joboffers.domain.offer;
 
+import com.joboffers.domain.offer.dto.OfferPageResponseDto;
 import com.joboffers.domain.offer.dto.OfferResponseDto;
 import com.joboffers.domain.offer.dto.OfferRequestDto;
 import lombok.AllArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @AllArgsConstructor
 public class OfferFacade {
 
+    static final int MAX_PAGE_SIZE = 100;
+    static final Duration CHANGES_SETTLE_TIME = Duration.ofSeconds(5);
+
     private final OfferRepository offerRepository;
     private final OfferService offerService;
+    private final List<OffersSavedListener> offersSavedListeners;
+    private final OffersVersionCounter offersVersionCounter;
+    private final Clock clock;
+    private final Object chunkNotificationLock = new Object();
 
-    @Cacheable(cacheNames = "jobOffers")
+    @Cacheable(cacheNames = "jobOffers", key = "#root.target.offersVersion().tag()", sync = true)
     public List<OfferResponseDto> findAllOffers() {
-        return offerRepository.findAll()
-                .stream()
+        return loadAllOffers();
+    }
+
+    /**
+     * Same cache entries as {@link #findAllOffers()}, for callers which already read the version
+     * and need the offers list labelled with exactly that version.
+     */
+    @Cacheable(cacheNames = "jobOffers", key = "#version.tag()", sync = true)
+    public List<OfferResponseDto> findAllOffers(OffersVersion version) {
+        return loadAllOffers();
+    }
+
+    public OffersVersion offersVersion() {
+        return offersVersionCounter.currentVersion();
+    }
+
+    public void streamAllOffers(Consumer<OfferResponseDto> offerConsumer) {
+        try (Stream<Offer> offers = offerRepository.streamAllBy()) {
+            offers.map(OfferMapper::mapFromOfferToOfferResponseDto)
+                    .forEach(offerConsumer);
+        }
+    }
+
+    public OfferPageResponseDto findOffersPage(int limit, String after) {
+        final int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        final Limit pageLimit = Limit.of(pageSize + 1);
+        final List<Offer> offers = after == null
+                ? offerRepository.findAllByOrderByIdAsc(pageLimit)
+                : offerRepository.findByIdGreaterThanOrderByIdAsc(OfferCursor.decode(after), pageLimit);
+        final List<OfferResponseDto> page = offers.stream()
+                .limit(pageSize)
                 .map(OfferMapper::mapFromOfferToOfferResponseDto)
-                .collect(Collectors.toList());
+                .toList();
+        final String next = offers.size() > pageSize
+                ? OfferCursor.encode(page.get(page.size() - 1).id())
+                : null;
+        return new OfferPageResponseDto(page, next);
+    }
+
+    public OfferPageResponseDto findOfferChanges(int limit, String since) {
+        final int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        final Instant until = clock.instant().minus(CHANGES_SETTLE_TIME);
+        final List<Offer> changedOffers;
+        if (since == null) {
+            changedOffers = offerRepository.findByUpdatedAtLessThanEqualOrderByUpdatedAtAscIdAsc(until, Limit.of(pageSize));
+        } else {
+            final OfferCursor.ChangePosition position = OfferCursor.decodeChange(since);
+            changedOffers = offerRepository.findChangedAfter(position.updatedAt(), position.offerId(), until,
+                    PageRequest.of(0, pageSize));
+        }
+        if (changedOffers.isEmpty()) {
+            return new OfferPageResponseDto(List.of(), since);
+        }
+        final Offer lastChangedOffer = changedOffers.get(changedOffers.size() - 1);
+        return new OfferPageResponseDto(
+                changedOffers.stream()
+                        .map(OfferMapper::mapFromOfferToOfferResponseDto)
+                        .toList(),
+                OfferCursor.encodeChange(lastChangedOffer.updatedAt(), lastChangedOffer.id()));
+    }
+
+    public void warmUpKnownOfferUrls() {
+        offerService.warmUpKnownOfferUrls();
+    }
+
+    public int canonicalizeStoredOfferUrls() {
+        return offerService.canonicalizeStoredOfferUrls();
     }
 
     public List<OfferResponseDto> fetchAllOffersAndSaveAllIfNotExists() {
-        return offerService.fetchAllOffersAndSaveAllIfNotExists()
+        return fetchAllOffersAndSaveAllIfNotExists(() -> true);
+    }
+
+    public List<OfferResponseDto> fetchAllOffersAndSaveAllIfNotExists(OfferIngestionLease lease) {
+        final OfferIngestionResult ingestionResult = offerService.fetchAllOffersAndSaveAllIfNotExists(lease,
+                this::notifyChunkPersisted);
+        return ingestionResult.insertedOffers()
                 .stream()
                 .map(OfferMapper::mapFromOfferToOfferResponseDto)
                 .toList();
@@ -36,8 +121,58 @@ public class OfferFacade {
     }
 
     public OfferResponseDto saveOffer(OfferRequestDto offerDto) {
-        final Offer offer = OfferMapper.mapFromOfferRequestDtoToOffer(offerDto);
+        final Offer offer = OfferMinHash.stamp(OfferFingerprint.stamp(
+                        OfferNormalizer.canonicalizeUrl(OfferMapper.mapFromOfferRequestDtoToOffer(offerDto))))
+                .toBuilder()
+                .updatedAt(clock.instant().truncatedTo(ChronoUnit.MILLIS))
+                .build();
         final Offer save = offerRepository.save(offer);
-        return OfferMapper.mapFromOfferToOfferResponseDto(save);
+        final OfferResponseDto savedOffer = OfferMapper.mapFromOfferToOfferResponseDto(save);
+        notifyOffersSaved(List.of(savedOffer));
+        return savedOffer;
+    }
+
+    private List<OfferResponseDto> loadAllOffers() {
+        return offerRepository.findAll()
+                .stream()
+                .map(OfferMapper::mapFromOfferToOfferResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    private void notifyChunkPersisted(OfferIngestionResult persistedChunk) {
+        final List<OfferResponseDto> insertedOffers = persistedChunk.insertedOffers()
+                .stream()
+                .map(OfferMapper::mapFromOfferToOfferResponseDto)
+                .toList();
+        final List<OfferResponseDto> updatedOffers = persistedChunk.updatedOffers()
+                .stream()
+                .map(OfferMapper::mapFromOfferToOfferResponseDto)
+                .toList();
+        // chunks are persisted by several threads, listeners expect to be called one at a time
+        synchronized (chunkNotificationLock) {
+            notifyOffersChanged(insertedOffers, updatedOffers);
+        }
+    }
+
+    private void notifyOffersSaved(List<OfferResponseDto> savedOffers) {
+        notifyOffersChanged(savedOffers, List.of());
+    }
+
+    private void notifyOffersChanged(List<OfferResponseDto> insertedOffers, List<OfferResponseDto> updatedOffers) {
+        if (insertedOffers.isEmpty() && updatedOffers.isEmpty()) {
+            return;
+        }
+        final OffersVersion version = offersVersionCounter.incrementVersion();
+        final List<OfferResponseDto> changedOffers = Stream.concat(insertedOffers.stream(), updatedOffers.stream())
+                .toList();
+        for (OffersSavedListener listener : offersSavedListeners) {
+            if (!insertedOffers.isEmpty()) {
+                listener.offersSaved(insertedOffers);
+            }
+            if (!updatedOffers.isEmpty()) {
+                listener.offersUpdated(updatedOffers);
+            }
+            listener.offersVersionIncremented(version, changedOffers);
+        }
     }
 }
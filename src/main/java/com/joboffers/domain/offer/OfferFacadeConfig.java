@@ -1,17 +1,42 @@
 package com.joboffers.domain.offer;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Clock;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Configuration
 public class OfferFacadeConfig {
 
     @Bean
-    OfferFacade offerFacade(OfferFetchable offerFetchable, OfferRepository repository) {
-        OfferService offerService = new OfferService(offerFetchable, repository);
-        return new OfferFacade(repository, offerService);
+    OfferIngestionPipeline offerIngestionPipeline(OfferIngestionProperties offerIngestionProperties) {
+        return new OfferIngestionPipeline(offerIngestionProperties.stages());
+    }
+
+    @Bean
+    OfferFacade offerFacade(OfferFetchable offerFetchable, OfferRepository repository,
+                            ObjectProvider<OffersSavedListener> offersSavedListeners,
+                            ObjectProvider<OffersVersionCounter> offersVersionCounter,
+                            ObjectProvider<OfferUrlFilterStore> offerUrlFilterStore,
+                            @Value("${offer.url-filter.expected-insertions:100000}") int expectedInsertions,
+                            @Value("${offer.url-filter.false-positive-probability:0.01}") double falsePositiveProbability,
+                            OfferIngestionProperties offerIngestionProperties,
+                            OfferIngestionPipeline offerIngestionPipeline,
+                            Clock clock) {
+        KnownOfferUrls knownOfferUrls = new KnownOfferUrls(repository,
+                offerUrlFilterStore.getIfAvailable(InMemoryOfferUrlFilterStore::new), clock,
+                expectedInsertions, falsePositiveProbability);
+        OfferService offerService = new OfferService(offerFetchable, repository, clock, knownOfferUrls,
+                offerIngestionProperties.fetchChunkSize(), offerIngestionProperties.nearDuplicateSimilarity(),
+                offerIngestionPipeline);
+        List<OffersSavedListener> listeners = Stream.concat(Stream.of(knownOfferUrls), offersSavedListeners.orderedStream())
+                .toList();
+        return new OfferFacade(repository, offerService, listeners,
+                offersVersionCounter.getIfAvailable(InMemoryOffersVersionCounter::new), clock);
     }
 }
@@ -6,4 +6,18 @@ import java.util.List;
 
 public interface OfferFetchable {
     List<JobOfferResponseDto> fetchOffers();
+
+    default void fetchOffers(int chunkSize, OffersChunkHandler chunkHandler) {
+        final List<JobOfferResponseDto> offers = fetchOffers();
+        for (int from = 0; from < offers.size(); from += chunkSize) {
+            chunkHandler.handle(offers.subList(from, Math.min(from + chunkSize, offers.size())));
+        }
+    }
+
+    /**
+     * Called once every chunk of the last fetch has been ingested. Fetchers which skip unchanged upstream
+     * data remember what they fetched only from here on, so a failed ingestion is retried in full.
+     */
+    default void confirmFetched() {
+    }
 }
@@ -0,0 +1,31 @@
+package com.joboffers.domain.offer;
+
+class OfferFingerprint {
+
+    private static final char FIELD_SEPARATOR = '\u001f';
+    private static final char NULL_MARKER = '\u0000';
+
+    static long of(Offer offer) {
+        final StringBuilder fields = new StringBuilder();
+        append(fields, offer.companyName());
+        append(fields, offer.position());
+        append(fields, offer.salary());
+        append(fields, offer.offerUrl());
+        return OfferUrls.hash(fields.toString());
+    }
+
+    static Offer stamp(Offer offer) {
+        return offer.toBuilder()
+                .fingerprint(of(offer))
+                .build();
+    }
+
+    private static void append(StringBuilder fields, String value) {
+        if (value == null) {
+            fields.append(NULL_MARKER);
+        } else {
+            fields.append(value);
+        }
+        fields.append(FIELD_SEPARATOR);
+    }
+}
@@ -0,0 +1,11 @@
+package com.joboffers.domain.offer;
+
+/**
+ * Tells an ingestion run whether it may still write. It is checked before each chunk is persisted,
+ * not by the writes themselves, so a chunk whose check passed can still be written shortly after
+ * the lease was lost; inserts stay idempotent thanks to the unique url hash.
+ */
+@FunctionalInterface
+public interface OfferIngestionLease {
+    boolean isHeld();
+}
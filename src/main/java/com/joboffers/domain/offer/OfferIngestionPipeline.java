@@ -0,0 +1,219 @@
+package com.joboffers.domain.offer;
+
+import com.joboffers.domain.offer.dto.JobOfferResponseDto;
+import jakarta.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+class OfferIngestionPipeline {
+
+    private static final long POLL_MILLIS = 50;
+
+    private final OfferIngestionProperties.Stages stages;
+    private final ExecutorService mapExecutor;
+    private final ExecutorService normalizeExecutor;
+    private final ExecutorService dedupeExecutor;
+    private final ExecutorService persistExecutor;
+
+    OfferIngestionPipeline(OfferIngestionProperties.Stages stages) {
+        this.stages = stages;
+        this.mapExecutor = stageExecutor("map", stages.map());
+        this.normalizeExecutor = stageExecutor("normalize", stages.normalize());
+        this.dedupeExecutor = stageExecutor("dedupe", stages.dedupe());
+        this.persistExecutor = stageExecutor("persist", stages.persist());
+    }
+
+    List<Offer> run(OfferFetchable offerFetcher, int chunkSize, OfferIngestionLease lease,
+                    Function<List<JobOfferResponseDto>, List<Offer>> map,
+                    Function<List<Offer>, List<Offer>> normalize,
+                    Function<List<Offer>, List<Offer>> dedupe,
+                    Function<List<Offer>, List<Offer>> persist) {
+        final Run run = new Run();
+        final List<Offer> savedOffers = Collections.synchronizedList(new ArrayList<>());
+        final StageRun<List<JobOfferResponseDto>> mapping = new StageRun<>(stages.map(), run);
+        final StageRun<List<Offer>> normalizing = new StageRun<>(stages.normalize(), run);
+        final StageRun<List<Offer>> deduping = new StageRun<>(stages.dedupe(), run);
+        final StageRun<List<Offer>> persisting = new StageRun<>(stages.persist(), run);
+        final CountDownLatch persisted = new CountDownLatch(1);
+        mapping.start(mapExecutor, map, normalizing::put, normalizing::close);
+        normalizing.start(normalizeExecutor, normalize, deduping::put, deduping::close);
+        deduping.start(dedupeExecutor, dedupe, chunk -> {
+            chunk.newOffers().complete(true);
+            persisting.put(chunk);
+        }, persisting::close);
+        persisting.start(persistExecutor, persist, chunk -> savedOffers.addAll(chunk.items()), persisted::countDown);
+        try {
+            offerFetcher.fetchOffers(chunkSize, jobOffers -> {
+                if (!lease.isHeld()) {
+                    return CompletableFuture.completedFuture(false);
+                }
+                final CompletableFuture<Boolean> newOffers = run.track(new CompletableFuture<>());
+                mapping.put(new Chunk<>(jobOffers, newOffers));
+                return newOffers;
+            });
+        } catch (Throwable e) {
+            run.fail(e);
+        } finally {
+            mapping.close();
+        }
+        try {
+            persisted.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.fail(new CancellationException("Offers ingestion was interrupted"));
+        }
+        run.throwIfFailed();
+        return new ArrayList<>(savedOffers);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        mapExecutor.shutdownNow();
+        normalizeExecutor.shutdownNow();
+        dedupeExecutor.shutdownNow();
+        persistExecutor.shutdownNow();
+    }
+
+    private static ExecutorService stageExecutor(String name, OfferIngestionProperties.Stage stage) {
+        return Executors.newFixedThreadPool(Math.max(stage.threads(), 1), runnable -> {
+            Thread thread = new Thread(runnable, "offer-ingestion-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Items of one fetched chunk on their way through the stages. {@code newOffers} is completed by the
+     * dedupe stage, or with {@code false} by whichever stage filters the chunk out completely.
+     */
+    private record Chunk<T extends List<?>>(T items, CompletableFuture<Boolean> newOffers) {
+    }
+
+    private static class Run {
+
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final Set<CompletableFuture<Boolean>> pendingChunks = ConcurrentHashMap.newKeySet();
+
+        void fail(Throwable e) {
+            failure.compareAndSet(null, e);
+            pendingChunks.forEach(chunk -> chunk.completeExceptionally(failure.get()));
+        }
+
+        CompletableFuture<Boolean> track(CompletableFuture<Boolean> chunk) {
+            pendingChunks.add(chunk);
+            chunk.whenComplete((newOffers, error) -> pendingChunks.remove(chunk));
+            if (failed()) {
+                chunk.completeExceptionally(failure.get());
+            }
+            return chunk;
+        }
+
+        boolean failed() {
+            return failure.get() != null;
+        }
+
+        void throwIfFailed() {
+            final Throwable e = failure.get();
+            if (e instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e instanceof Error error) {
+                throw error;
+            }
+            if (e != null) {
+                throw new IllegalStateException("Offers ingestion failed", e);
+            }
+        }
+    }
+
+    private static class StageRun<I extends List<?>> {
+
+        private final BlockingQueue<Chunk<I>> input;
+        private final int threads;
+        private final Run run;
+        private final AtomicInteger activeWorkers;
+        private volatile boolean closed;
+
+        StageRun(OfferIngestionProperties.Stage stage, Run run) {
+            this.input = new ArrayBlockingQueue<>(Math.max(stage.queueCapacity(), 1));
+            this.threads = Math.max(stage.threads(), 1);
+            this.run = run;
+            this.activeWorkers = new AtomicInteger(threads);
+        }
+
+        void put(Chunk<I> item) {
+            try {
+                while (!run.failed()) {
+                    if (input.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                run.fail(new CancellationException("Offers ingestion was interrupted"));
+            }
+            throw new CancellationException("Offers ingestion was aborted");
+        }
+
+        void close() {
+            closed = true;
+        }
+
+        <O extends List<?>> void start(ExecutorService executor, Function<I, O> work, Consumer<Chunk<O>> downstream,
+                                       Runnable onFinished) {
+            for (int i = 0; i < threads; i++) {
+                executor.execute(() -> {
+                    try {
+                        process(work, downstream);
+                    } catch (Throwable e) {
+                        // an Error must fail the run too, otherwise upstream stages wait forever on the full queue
+                        run.fail(e);
+                    } finally {
+                        if (activeWorkers.decrementAndGet() == 0) {
+                            onFinished.run();
+                        }
+                    }
+                });
+            }
+        }
+
+        private <O extends List<?>> void process(Function<I, O> work, Consumer<Chunk<O>> downstream) {
+            try {
+                while (!run.failed()) {
+                    final Chunk<I> chunk = input.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (chunk == null) {
+                        if (closed && input.isEmpty()) {
+                            return;
+                        }
+                        continue;
+                    }
+                    final O output = work.apply(chunk.items());
+                    if (output.isEmpty()) {
+                        chunk.newOffers().complete(false);
+                    } else {
+                        downstream.accept(new Chunk<>(output, chunk.newOffers()));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                run.fail(new CancellationException("Offers ingestion was interrupted"));
+            }
+        }
+    }
+}
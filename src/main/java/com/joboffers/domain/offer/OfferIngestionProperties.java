@@ -0,0 +1,26 @@
+package com.joboffers.domain.offer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(value = "offer.ingestion")
+public record OfferIngestionProperties(
+        @DefaultValue("500") int fetchChunkSize,
+        @DefaultValue("0.85") double nearDuplicateSimilarity,
+        @DefaultValue Stages stages
+) {
+
+    public record Stages(
+            @DefaultValue Stage map,
+            @DefaultValue Stage normalize,
+            @DefaultValue Stage dedupe,
+            @DefaultValue Stage persist
+    ) {
+    }
+
+    public record Stage(
+            @DefaultValue("1") int threads,
+            @DefaultValue("4") int queueCapacity
+    ) {
+    }
+}
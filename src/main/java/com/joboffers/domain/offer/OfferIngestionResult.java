@@ -0,0 +1,6 @@
+package com.joboffers.domain.offer;
+
+import java.util.List;
+
+record OfferIngestionResult(List<Offer> insertedOffers, List<Offer> updatedOffers) {
+}
@@ -0,0 +1,99 @@
+package com.joboffers.domain.offer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+class OfferMinHash {
+
+    private static final int BANDS = 8;
+    private static final int ROWS = 6;
+    private static final int SIGNATURE_SIZE = BANDS * ROWS;
+    private static final int SHINGLE_LENGTH = 3;
+    private static final int POSITION_WORD_WEIGHT = 2;
+    private static final long GOLDEN_RATIO = 0x9e3779b97f4a7c15L;
+
+    static Offer stamp(Offer offer) {
+        final List<Integer> signature = signature(offer);
+        return offer.toBuilder()
+                .minHash(signature)
+                .minHashBands(bands(signature))
+                .build();
+    }
+
+    static double similarity(List<Integer> signature, List<Integer> otherSignature) {
+        if (signature == null || otherSignature == null || signature.size() != otherSignature.size()) {
+            return 0;
+        }
+        int equalRows = 0;
+        for (int row = 0; row < signature.size(); row++) {
+            if (signature.get(row).equals(otherSignature.get(row))) {
+                equalRows++;
+            }
+        }
+        return (double) equalRows / signature.size();
+    }
+
+    private static List<Integer> signature(Offer offer) {
+        final Set<String> shingles = new HashSet<>();
+        addShingles(shingles, 'c', offer.companyName());
+        addShingles(shingles, 'p', offer.position());
+        addWords(shingles, 'w', offer.position());
+        addShingles(shingles, 's', offer.salary());
+        final long[] minimums = new long[SIGNATURE_SIZE];
+        Arrays.fill(minimums, Long.MAX_VALUE);
+        for (String shingle : shingles) {
+            final long hash = OfferUrls.hash(shingle);
+            for (int row = 0; row < SIGNATURE_SIZE; row++) {
+                minimums[row] = Math.min(minimums[row], OfferUrls.mix(hash ^ GOLDEN_RATIO * (row + 1)) >>> 1);
+            }
+        }
+        final List<Integer> signature = new ArrayList<>(SIGNATURE_SIZE);
+        for (long minimum : minimums) {
+            signature.add((int) minimum);
+        }
+        return List.copyOf(signature);
+    }
+
+    private static List<Long> bands(List<Integer> signature) {
+        final List<Long> bands = new ArrayList<>(BANDS);
+        for (int band = 0; band < BANDS; band++) {
+            long hash = band;
+            for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+                hash = OfferUrls.mix(hash * GOLDEN_RATIO + signature.get(row));
+            }
+            bands.add(hash);
+        }
+        return List.copyOf(bands);
+    }
+
+    /**
+     * Whole position words count besides their character shingles, each added {@link #POSITION_WORD_WEIGHT}
+     * times, so positions which differ only by a short word or number, like "Developer 1" and "Developer 2",
+     * are not taken for near duplicates of offers with short company and salary texts.
+     */
+    private static void addWords(Set<String> shingles, char field, String value) {
+        if (value == null) {
+            return;
+        }
+        for (String word : value.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            for (int copy = 0; !word.isEmpty() && copy < POSITION_WORD_WEIGHT; copy++) {
+                shingles.add(field + String.valueOf(copy) + word);
+            }
+        }
+    }
+
+    private static void addShingles(Set<String> shingles, char field, String value) {
+        final String text = value == null ? "" : value.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", "");
+        if (text.length() <= SHINGLE_LENGTH) {
+            shingles.add(field + text);
+            return;
+        }
+        for (int i = 0; i + SHINGLE_LENGTH <= text.length(); i++) {
+            shingles.add(field + text.substring(i, i + SHINGLE_LENGTH));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.joboffers.domain.offer;
+
+class OfferNormalizer {
+
+    static Offer normalize(Offer offer) {
+        return canonicalizeUrl(offer.toBuilder()
+                .companyName(trim(offer.companyName()))
+                .position(trim(offer.position()))
+                .salary(trim(offer.salary()))
+                .build());
+    }
+
+    static Offer canonicalizeUrl(Offer offer) {
+        final String offerUrl = OfferUrls.canonicalize(offer.offerUrl());
+        return offer.toBuilder()
+                .offerUrl(offerUrl)
+                .urlHash(OfferUrls.hash(offerUrl))
+                .build();
+    }
+
+    private static String trim(String value) {
+        return value == null ? null : value.trim();
+    }
+}
@@ -2,6 +2,6 @@ package com.joboffers.domain.offer;
 
 public class OfferNotFoundException extends RuntimeException {
     public OfferNotFoundException(String id) {
-        super(String.format("Offer with id %s not found", id));
+        super("Offer with id " + id + " not found", null, false, false);
     }
 }
@@ -1,12 +1,54 @@
 package com.joboffers.domain.offer;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 
 @Repository
-public interface OfferRepository extends MongoRepository<Offer, String> {
+public interface OfferRepository extends MongoRepository<Offer, String>, OfferBulkRepository {
 
     boolean existsByOfferUrl(String offerUrl);
-}
 
+    @Query(value = "{ 'urlHash': { $in: ?0 } }", fields = "{ 'url': 1, 'urlHash': 1, 'fingerprint': 1 }")
+    List<Offer> findOfferFingerprintsByUrlHashIn(Collection<Long> urlHashes);
+
+    @Query(value = "{ 'minHashBands': { $in: ?0 } }", fields = "{ 'minHash': 1, 'minHashBands': 1 }",
+            sort = "{ 'updated': -1 }")
+    List<Offer> findMinHashesByBandIn(Collection<Long> minHashBands, Pageable pageable);
+
+    @Override
+    @Caching(cacheable = {
+            @Cacheable(cacheNames = "jobOffer", unless = "#result == null"),
+            @Cacheable(cacheNames = "jobOfferMisses", unless = "#result != null")
+    })
+    Optional<Offer> findById(String id);
+
+    List<Offer> findAllByOrderByIdAsc(Limit limit);
+
+    List<Offer> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    List<Offer> findByUpdatedAtLessThanEqualOrderByUpdatedAtAscIdAsc(Instant until, Limit limit);
+
+    @Query(value = "{ 'updated': { $lte: ?2 }, $or: [ { 'updated': { $gt: ?0 } }, { 'updated': ?0, '_id': { $gt: ?1 } } ] }",
+            sort = "{ 'updated': 1, '_id': 1 }")
+    List<Offer> findChangedAfter(Instant updatedAt, String id, Instant until, Pageable pageable);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<Offer> streamAllBy();
+
+    @Meta(cursorBatchSize = 500)
+    @Query(value = "{ 'urlHash': { $exists: false } }", fields = "{ 'url': 1 }")
+    Stream<Offer> streamWithoutUrlHash();
+}
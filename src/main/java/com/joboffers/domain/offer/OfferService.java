@@ -1,33 +1,205 @@
 package com.joboffers.domain.offer;
 
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @AllArgsConstructor
 class OfferService {
 
+    private static final int URL_LOOKUP_CHUNK_SIZE = 1000;
+    // generic offers can share a band with thousands of others, comparing with the newest ones is enough
+    private static final int MAX_MIN_HASHES_PER_BAND = 100;
+
     private final OfferFetchable offerFetcher;
     private OfferRepository offerRepository;
+    private final Clock clock;
+    private final KnownOfferUrls knownOfferUrls;
+    private final int fetchChunkSize;
+    private final double nearDuplicateSimilarity;
+    private final OfferIngestionPipeline ingestionPipeline;
+
+    void warmUpKnownOfferUrls() {
+        knownOfferUrls.warmUp();
+    }
+
+    int canonicalizeStoredOfferUrls() {
+        int canonicalizedOffers = 0;
+        final Instant updatedAt = clock.instant().truncatedTo(ChronoUnit.MILLIS);
+        try (Stream<Offer> offers = offerRepository.streamWithoutUrlHash()) {
+            // a new updated time lets known offer urls pick the canonical urls up on their next top-up
+            final Iterator<Offer> iterator = offers.map(OfferNormalizer::canonicalizeUrl)
+                    .map(offer -> offer.toBuilder().updatedAt(updatedAt).build())
+                    .iterator();
+            final List<Offer> batch = new ArrayList<>(URL_LOOKUP_CHUNK_SIZE);
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == URL_LOOKUP_CHUNK_SIZE || !iterator.hasNext()) {
+                    canonicalizedOffers += offerRepository.assignCanonicalUrls(List.copyOf(batch));
+                    batch.clear();
+                }
+            }
+        }
+        return canonicalizedOffers;
+    }
+
+    /**
+     * Runs one ingestion and hands the offers of every persisted chunk to {@code chunkPersisted} right after
+     * they were written, so offers saved before a later chunk fails are not lost to listeners.
+     */
+    OfferIngestionResult fetchAllOffersAndSaveAllIfNotExists(OfferIngestionLease lease,
+                                                             Consumer<OfferIngestionResult> chunkPersisted) {
+        final AtomicBoolean knownOfferUrlsRefreshed = new AtomicBoolean();
+        final Set<String> fetchedUrls = ConcurrentHashMap.newKeySet();
+        final List<Offer> updatedOffers = Collections.synchronizedList(new ArrayList<>());
+        final Map<Long, List<List<Integer>>> acceptedMinHashes = new HashMap<>();
+        final List<Offer> insertedOffers = ingestionPipeline.run(offerFetcher, fetchChunkSize, lease,
+                jobOffers -> jobOffers.stream()
+                        .map(OfferMapper::mapFromJobOfferResponseToOffer)
+                        .toList(),
+                offers -> offers.stream()
+                        .map(OfferNormalizer::normalize)
+                        .filter(offer -> !offer.offerUrl().isEmpty())
+                        .map(OfferFingerprint::stamp)
+                        .map(OfferMinHash::stamp)
+                        .toList(),
+                offers -> {
+                    if (knownOfferUrlsRefreshed.compareAndSet(false, true)) {
+                        knownOfferUrls.refresh();
+                    }
+                    return filterNearDuplicates(filterNewOrChangedOffers(offers.stream()
+                            .filter(offer -> fetchedUrls.add(offer.offerUrl()))
+                            .toList()), acceptedMinHashes);
+                },
+                offers -> {
+                    if (!lease.isHeld()) {
+                        return List.of();
+                    }
+                    final Map<Boolean, List<Offer>> offersByExistence = stampUpdatedAt(offers).stream()
+                            .collect(Collectors.partitioningBy(offer -> offer.id() != null));
+                    final List<Offer> updatedChunk = offerRepository.updateAllChanged(offersByExistence.get(true));
+                    updatedOffers.addAll(updatedChunk);
+                    final List<Offer> insertedChunk;
+                    try {
+                        insertedChunk = offerRepository.insertAllSkippingDuplicates(offersByExistence.get(false))
+                                .insertedOffers();
+                    } catch (OfferBulkInsertException e) {
+                        chunkPersisted.accept(new OfferIngestionResult(e.insertedOffers(), updatedChunk));
+                        throw e;
+                    }
+                    chunkPersisted.accept(new OfferIngestionResult(insertedChunk, updatedChunk));
+                    return insertedChunk;
+                });
+        if (lease.isHeld()) {
+            offerFetcher.confirmFetched();
+        }
+        return new OfferIngestionResult(insertedOffers, List.copyOf(updatedOffers));
+    }
 
-    List<Offer> fetchAllOffersAndSaveAllIfNotExists() {
-        List<Offer> jobOffers = fetchOffers();
-        final List<Offer> offers = filterNotExistingOffers(jobOffers);
-        return offerRepository.saveAll(offers);
+    private List<Offer> stampUpdatedAt(List<Offer> offers) {
+        final Instant updatedAt = clock.instant().truncatedTo(ChronoUnit.MILLIS);
+        return offers.stream()
+                .map(offer -> offer.toBuilder().updatedAt(updatedAt).build())
+                .toList();
     }
 
-    private List<Offer> filterNotExistingOffers(List<Offer> jobOffers) {
+    private List<Offer> filterNewOrChangedOffers(List<Offer> jobOffers) {
+        final Set<String> maybeKnownUrls = Set.copyOf(knownOfferUrls.retainMaybeKnown(jobOffers.stream()
+                .map(Offer::offerUrl)
+                .toList()));
+        final Map<Long, Offer> existingOffers = findExistingOffers(jobOffers.stream()
+                .filter(offer -> maybeKnownUrls.contains(offer.offerUrl()))
+                .map(Offer::urlHash)
+                .toList());
         return jobOffers.stream()
-                .filter(offer -> !offer.offerUrl().isEmpty())
-                .filter(offer -> !offerRepository.existsByOfferUrl(offer.offerUrl()))
-                .collect(Collectors.toList());
+                .filter(offer -> !isUrlHashCollision(offer, existingOffers.get(offer.urlHash())))
+                .filter(offer -> isNewOrChanged(offer, existingOffers.get(offer.urlHash())))
+                .map(offer -> existingOffers.containsKey(offer.urlHash())
+                        ? offer.toBuilder().id(existingOffers.get(offer.urlHash()).id()).build()
+                        : offer)
+                .toList();
     }
 
-    private List<Offer> fetchOffers() {
-        return offerFetcher.fetchOffers()
-                .stream()
-                .map(OfferMapper::mapFromJobOfferResponseToOffer)
+    private List<Offer> filterNearDuplicates(List<Offer> offers, Map<Long, List<List<Integer>>> acceptedMinHashes) {
+        final Map<Long, List<List<Integer>>> storedMinHashes = findStoredMinHashes(offers.stream()
+                .filter(offer -> offer.id() == null)
+                .flatMap(offer -> offer.minHashBands().stream())
+                .distinct()
+                .toList());
+        return offers.stream()
+                .filter(offer -> offer.id() != null
+                        || (!isNearDuplicate(offer, storedMinHashes) && accept(offer, acceptedMinHashes)))
                 .toList();
     }
+
+    private boolean accept(Offer offer, Map<Long, List<List<Integer>>> acceptedMinHashes) {
+        synchronized (acceptedMinHashes) {
+            if (isNearDuplicate(offer, acceptedMinHashes)) {
+                return false;
+            }
+            offer.minHashBands().forEach(band -> addToBand(acceptedMinHashes, band, offer.minHash()));
+            return true;
+        }
+    }
+
+    private boolean isNearDuplicate(Offer offer, Map<Long, List<List<Integer>>> minHashesByBand) {
+        return offer.minHashBands().stream()
+                .flatMap(band -> minHashesByBand.getOrDefault(band, List.of()).stream())
+                .anyMatch(minHash -> OfferMinHash.similarity(offer.minHash(), minHash) >= nearDuplicateSimilarity);
+    }
+
+    private Map<Long, List<List<Integer>>> findStoredMinHashes(List<Long> minHashBands) {
+        final Set<Long> requestedBands = Set.copyOf(minHashBands);
+        final Map<Long, List<List<Integer>>> storedMinHashes = new HashMap<>();
+        for (int from = 0; from < minHashBands.size(); from += URL_LOOKUP_CHUNK_SIZE) {
+            final List<Long> chunk = minHashBands.subList(from, Math.min(from + URL_LOOKUP_CHUNK_SIZE, minHashBands.size()));
+            offerRepository.findMinHashesByBandIn(chunk, PageRequest.of(0, chunk.size() * MAX_MIN_HASHES_PER_BAND))
+                    .forEach(offer -> offer.minHashBands()
+                            .stream()
+                            .filter(requestedBands::contains)
+                            .forEach(band -> addToBand(storedMinHashes, band, offer.minHash())));
+        }
+        return storedMinHashes;
+    }
+
+    private static void addToBand(Map<Long, List<List<Integer>>> minHashesByBand, Long band, List<Integer> minHash) {
+        final List<List<Integer>> bandMinHashes = minHashesByBand.computeIfAbsent(band, key -> new ArrayList<>());
+        if (bandMinHashes.size() < MAX_MIN_HASHES_PER_BAND) {
+            bandMinHashes.add(minHash);
+        }
+    }
+
+    private static boolean isUrlHashCollision(Offer offer, Offer existingOffer) {
+        return existingOffer != null && !existingOffer.offerUrl().equals(offer.offerUrl());
+    }
+
+    private static boolean isNewOrChanged(Offer offer, Offer existingOffer) {
+        return existingOffer == null || !Objects.equals(existingOffer.fingerprint(), offer.fingerprint());
+    }
+
+    private Map<Long, Offer> findExistingOffers(List<Long> urlHashes) {
+        final Map<Long, Offer> existingOffers = new HashMap<>();
+        for (int from = 0; from < urlHashes.size(); from += URL_LOOKUP_CHUNK_SIZE) {
+            final List<Long> chunk = urlHashes.subList(from, Math.min(from + URL_LOOKUP_CHUNK_SIZE, urlHashes.size()));
+            offerRepository.findOfferFingerprintsByUrlHashIn(chunk)
+                    .forEach(offer -> existingOffers.put(offer.urlHash(), offer));
+        }
+        return existingOffers;
+    }
 }
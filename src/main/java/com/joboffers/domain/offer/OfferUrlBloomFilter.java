@@ -0,0 +1,98 @@
+package com.joboffers.domain.offer;
+
+import java.nio.ByteBuffer;
+
+class OfferUrlBloomFilter {
+
+    private static final long GOLDEN_RATIO = 0x9e3779b97f4a7c15L;
+
+    private final long[] bits;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final int expectedInsertions;
+    private long insertions;
+
+    private OfferUrlBloomFilter(long[] bits, int hashFunctions, int expectedInsertions, long insertions) {
+        this.bits = bits;
+        this.bitSize = (long) bits.length * Long.SIZE;
+        this.hashFunctions = hashFunctions;
+        this.expectedInsertions = expectedInsertions;
+        this.insertions = insertions;
+    }
+
+    static OfferUrlBloomFilter create(int expectedInsertions, double falsePositiveProbability) {
+        final int insertions = Math.max(expectedInsertions, 1);
+        final double optimalBits = -insertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2));
+        final int words = (int) Math.max(1, Math.ceil(optimalBits / Long.SIZE));
+        final int hashFunctions = (int) Math.max(1, Math.round((double) words * Long.SIZE / insertions * Math.log(2)));
+        return new OfferUrlBloomFilter(new long[words], hashFunctions, insertions, 0);
+    }
+
+    static OfferUrlBloomFilter fromBytes(ByteBuffer buffer) {
+        final int hashFunctions = buffer.getInt();
+        final int expectedInsertions = buffer.getInt();
+        final long insertions = buffer.getLong();
+        final int words = buffer.getInt();
+        if (hashFunctions < 1 || expectedInsertions < 1 || words < 1 || words * (long) Long.BYTES != buffer.remaining()) {
+            throw new IllegalArgumentException("Offer url filter snapshot is corrupted");
+        }
+        final long[] bits = new long[words];
+        buffer.asLongBuffer().get(bits);
+        return new OfferUrlBloomFilter(bits, hashFunctions, expectedInsertions, insertions);
+    }
+
+    /**
+     * Returns whether any bit was newly set. Urls which were already in the filter do not count
+     * as insertions, so re-indexing known offers does not make the filter look saturated.
+     */
+    boolean put(String offerUrl) {
+        final long hash = OfferUrls.hash(offerUrl);
+        final long step = OfferUrls.mix(hash ^ GOLDEN_RATIO) | 1;
+        boolean changed = false;
+        for (int i = 0; i < hashFunctions; i++) {
+            final long index = Long.remainderUnsigned(hash + i * step, bitSize);
+            final int word = (int) (index >>> 6);
+            final long bit = 1L << index;
+            changed |= (bits[word] & bit) == 0;
+            bits[word] |= bit;
+        }
+        if (changed) {
+            insertions++;
+        }
+        return changed;
+    }
+
+    boolean mightContain(String offerUrl) {
+        final long hash = OfferUrls.hash(offerUrl);
+        final long step = OfferUrls.mix(hash ^ GOLDEN_RATIO) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            final long index = Long.remainderUnsigned(hash + i * step, bitSize);
+            if ((bits[(int) (index >>> 6)] & 1L << index) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean isSaturated() {
+        return insertions > expectedInsertions;
+    }
+
+    int expectedInsertions() {
+        return expectedInsertions;
+    }
+
+    int sizeInBytes() {
+        return Integer.BYTES * 3 + Long.BYTES + bits.length * Long.BYTES;
+    }
+
+    void writeTo(ByteBuffer buffer) {
+        buffer.putInt(hashFunctions)
+                .putInt(expectedInsertions)
+                .putLong(insertions)
+                .putInt(bits.length);
+        for (long word : bits) {
+            buffer.putLong(word);
+        }
+    }
+}
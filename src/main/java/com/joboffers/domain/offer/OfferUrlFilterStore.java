@@ -0,0 +1,9 @@
+package com.joboffers.domain.offer;
+
+import java.util.Optional;
+
+public interface OfferUrlFilterStore {
+    Optional<byte[]> load();
+
+    void save(byte[] snapshot);
+}
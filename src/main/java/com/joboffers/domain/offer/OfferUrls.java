@@ -0,0 +1,98 @@
+package com.joboffers.domain.offer;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+class OfferUrls {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final String TRACKING_PARAMETER_PREFIX = "utm_";
+    private static final Set<String> TRACKING_PARAMETERS = Set.of(
+            "gclid", "fbclid", "msclkid", "yclid", "mc_cid", "mc_eid", "_ga", "ref", "trk");
+
+    static String canonicalize(String offerUrl) {
+        final String trimmed = offerUrl == null ? "" : offerUrl.trim();
+        final URI uri;
+        try {
+            uri = new URI(trimmed);
+        } catch (URISyntaxException e) {
+            return trimmed;
+        }
+        if (uri.getScheme() == null || uri.getHost() == null) {
+            return trimmed;
+        }
+        final String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+        final StringBuilder canonical = new StringBuilder(trimmed.length())
+                .append(scheme)
+                .append("://");
+        if (uri.getRawUserInfo() != null) {
+            canonical.append(uri.getRawUserInfo()).append('@');
+        }
+        canonical.append(uri.getHost().toLowerCase(Locale.ROOT));
+        if (uri.getPort() != -1 && !isDefaultPort(scheme, uri.getPort())) {
+            canonical.append(':').append(uri.getPort());
+        }
+        canonical.append(stripTrailingSlashes(uri.getRawPath()));
+        final String query = canonicalQuery(uri.getRawQuery());
+        if (!query.isEmpty()) {
+            canonical.append('?').append(query);
+        }
+        return canonical.toString();
+    }
+
+    static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static boolean isDefaultPort(String scheme, int port) {
+        return ("http".equals(scheme) && port == 80) || ("https".equals(scheme) && port == 443);
+    }
+
+    private static String stripTrailingSlashes(String path) {
+        if (path == null) {
+            return "";
+        }
+        int end = path.length();
+        while (end > 0 && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        return path.substring(0, end);
+    }
+
+    private static String canonicalQuery(String query) {
+        if (query == null || query.isEmpty()) {
+            return "";
+        }
+        return Arrays.stream(query.split("&"))
+                .filter(parameter -> !parameter.isEmpty())
+                .filter(parameter -> !isTrackingParameter(parameter))
+                .sorted()
+                .collect(Collectors.joining("&"));
+    }
+
+    private static boolean isTrackingParameter(String parameter) {
+        final int separator = parameter.indexOf('=');
+        final String name = (separator == -1 ? parameter : parameter.substring(0, separator)).toLowerCase(Locale.ROOT);
+        return name.startsWith(TRACKING_PARAMETER_PREFIX) || TRACKING_PARAMETERS.contains(name);
+    }
+}
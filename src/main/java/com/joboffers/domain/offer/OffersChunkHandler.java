@@ -0,0 +1,16 @@
+package com.joboffers.domain.offer;
+
+import com.joboffers.domain.offer.dto.JobOfferResponseDto;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@FunctionalInterface
+public interface OffersChunkHandler {
+
+    /**
+     * Hands a chunk of fetched offers over for ingestion. The returned future completes with whether
+     * this very chunk contained offers that were not stored yet, so paginating fetchers can stop early.
+     */
+    CompletableFuture<Boolean> handle(List<JobOfferResponseDto> offers);
+}
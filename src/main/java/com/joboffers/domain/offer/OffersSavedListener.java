@@ -0,0 +1,24 @@
+package com.joboffers.domain.offer;
+
+import com.joboffers.domain.offer.dto.OfferResponseDto;
+
+import java.util.List;
+
+public interface OffersSavedListener {
+    void offersSaved(List<OfferResponseDto> savedOffers);
+
+    /**
+     * Called with stored offers whose content changed upstream. Listeners which do not care
+     * whether an offer is new or updated get them through {@link #offersSaved(List)}.
+     */
+    default void offersUpdated(List<OfferResponseDto> updatedOffers) {
+        offersSaved(updatedOffers);
+    }
+
+    /**
+     * Called once per change after the offers version was incremented for it, with all offers
+     * the change inserted or updated.
+     */
+    default void offersVersionIncremented(OffersVersion version, List<OfferResponseDto> changedOffers) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.joboffers.domain.offer;
+
+public record OffersVersion(
+        String epoch,
+        long counter
+) {
+
+    public String tag() {
+        return epoch + "-" + counter;
+    }
+
+    public OffersVersion previous() {
+        return new OffersVersion(epoch, counter - 1);
+    }
+}
@@ -0,0 +1,8 @@
+package com.joboffers.domain.offer;
+
+public interface OffersVersionCounter {
+
+    OffersVersion currentVersion();
+
+    OffersVersion incrementVersion();
+}
@@ -0,0 +1,9 @@
+package com.joboffers.domain.offer.dto;
+
+import java.util.List;
+
+public record OfferPageResponseDto(
+        List<OfferResponseDto> offers,
+        String next
+) {
+}
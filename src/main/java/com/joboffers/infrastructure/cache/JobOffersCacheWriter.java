@@ -0,0 +1,69 @@
+package com.joboffers.infrastructure.cache;
+
+import com.joboffers.domain.offer.OffersSavedListener;
+import com.joboffers.domain.offer.OffersVersion;
+import com.joboffers.domain.offer.dto.OfferResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@AllArgsConstructor
+@Log4j2
+class JobOffersCacheWriter implements OffersSavedListener {
+
+    private static final String JOB_OFFERS_CACHE = "jobOffers";
+    private static final String JOB_OFFER_CACHE = "jobOffer";
+    private static final String JOB_OFFER_MISSES_CACHE = "jobOfferMisses";
+
+    private final CacheManager cacheManager;
+
+    @Override
+    public void offersSaved(List<OfferResponseDto> savedOffers) {
+        evictOffers(JOB_OFFER_CACHE, savedOffers);
+        evictOffers(JOB_OFFER_MISSES_CACHE, savedOffers);
+    }
+
+    /**
+     * Carries the offers list of the previous version forward to the new version with the changed offers
+     * merged in by id, so a version bump does not force a full reload. Every version is written only from
+     * its own predecessor, so concurrent changes on other nodes cannot be lost; when the predecessor is not
+     * cached the new version is left to be loaded from Mongo on the next read.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void offersVersionIncremented(OffersVersion version, List<OfferResponseDto> changedOffers) {
+        try {
+            final Cache cache = cacheManager.getCache(JOB_OFFERS_CACHE);
+            if (cache == null) {
+                return;
+            }
+            final List<OfferResponseDto> previousOffers = cache.get(version.previous().tag(), List.class);
+            if (previousOffers == null) {
+                return;
+            }
+            final Map<String, OfferResponseDto> offersById = new LinkedHashMap<>();
+            previousOffers.forEach(offer -> offersById.put(offer.id(), offer));
+            changedOffers.forEach(offer -> offersById.put(offer.id(), offer));
+            cache.putIfAbsent(version.tag(), new ArrayList<>(offersById.values()));
+        } catch (RuntimeException e) {
+            log.warn("Could not carry cached offers forward to version {}: {}", version.tag(), e.getMessage());
+        }
+    }
+
+    private void evictOffers(String cacheName, List<OfferResponseDto> savedOffers) {
+        try {
+            final Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                savedOffers.forEach(offer -> cache.evict(offer.id()));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not evict {} saved offers from cache {}: {}", savedOffers.size(), cacheName, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.joboffers.infrastructure.cache;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+@Log4j2
+class NearCache implements Cache {
+
+    private final Cache remoteCache;
+    private final com.github.benmanes.caffeine.cache.Cache<String, NearCacheEntry> localCache;
+    private final Consumer<NearCacheInvalidation> invalidationPublisher;
+    private final RedisCacheLoadLock loadLock;
+    private final Duration loadLockPollInterval;
+    private final Duration refreshAfter;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+    private final String origin;
+    private final Map<String, CompletableFuture<Object>> loadsInFlight = new ConcurrentHashMap<>();
+
+    NearCache(Cache remoteCache,
+              com.github.benmanes.caffeine.cache.Cache<String, NearCacheEntry> localCache,
+              Consumer<NearCacheInvalidation> invalidationPublisher,
+              RedisCacheLoadLock loadLock,
+              Duration loadLockPollInterval,
+              Duration refreshAfter,
+              Executor refreshExecutor,
+              Clock clock,
+              String origin) {
+        this.remoteCache = remoteCache;
+        this.localCache = localCache;
+        this.invalidationPublisher = invalidationPublisher;
+        this.loadLock = loadLock;
+        this.loadLockPollInterval = loadLockPollInterval;
+        this.refreshAfter = refreshAfter;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+        this.origin = origin;
+    }
+
+    @Override
+    public String getName() {
+        return remoteCache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remoteCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        final NearCacheEntry entry = getEntry(key);
+        return entry == null ? null : new SimpleValueWrapper(entry.value());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        final NearCacheEntry entry = getEntry(key);
+        if (entry == null) {
+            return null;
+        }
+        final Object value = entry.value();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        final NearCacheEntry entry = getEntry(key);
+        if (entry == null) {
+            return load(key, valueLoader);
+        }
+        if (isDueForRefresh(entry)) {
+            refreshInBackground(key, valueLoader);
+        }
+        return (T) entry.value();
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        final NearCacheEntry entry = new NearCacheEntry(value, clock.instant());
+        remoteCache.put(key, entry);
+        localCache.put(toLocalKey(key), entry);
+        invalidationPublisher.accept(NearCacheInvalidation.ofKey(origin, getName(), toLocalKey(key)));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        final NearCacheEntry entry = new NearCacheEntry(value, clock.instant());
+        final ValueWrapper existingValue = remoteCache.putIfAbsent(key, entry);
+        if (existingValue != null) {
+            final NearCacheEntry existingEntry = NearCacheEntry.fromRemoteValue(existingValue.get());
+            localCache.put(toLocalKey(key), existingEntry);
+            return new SimpleValueWrapper(existingEntry.value());
+        }
+        localCache.put(toLocalKey(key), entry);
+        invalidationPublisher.accept(NearCacheInvalidation.ofKey(origin, getName(), toLocalKey(key)));
+        return null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoteCache.evict(key);
+        evictLocal(toLocalKey(key));
+        invalidationPublisher.accept(NearCacheInvalidation.ofKey(origin, getName(), toLocalKey(key)));
+    }
+
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        clearLocal();
+        invalidationPublisher.accept(NearCacheInvalidation.ofAllKeys(origin, getName()));
+    }
+
+    void evictLocal(String localKey) {
+        localCache.invalidate(localKey);
+    }
+
+    void clearLocal() {
+        localCache.invalidateAll();
+    }
+
+    private NearCacheEntry getEntry(Object key) {
+        final String localKey = toLocalKey(key);
+        final NearCacheEntry localEntry = localCache.getIfPresent(localKey);
+        if (localEntry != null) {
+            return localEntry;
+        }
+        final ValueWrapper remoteValue = remoteCache.get(key);
+        if (remoteValue == null) {
+            return null;
+        }
+        final NearCacheEntry remoteEntry = NearCacheEntry.fromRemoteValue(remoteValue.get());
+        localCache.put(localKey, remoteEntry);
+        return remoteEntry;
+    }
+
+    private boolean isDueForRefresh(NearCacheEntry entry) {
+        return refreshAfter != null && entry.isOlderThan(refreshAfter, clock.instant());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T load(Object key, Callable<T> valueLoader) {
+        final String localKey = toLocalKey(key);
+        final CompletableFuture<Object> load = new CompletableFuture<>();
+        final CompletableFuture<Object> loadInFlight = loadsInFlight.putIfAbsent(localKey, load);
+        if (loadInFlight != null) {
+            return (T) awaitLoad(loadInFlight);
+        }
+        try {
+            final T value = loadOnceAcrossNodes(key, valueLoader);
+            load.complete(value);
+            return value;
+        } catch (Throwable e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loadsInFlight.remove(localKey, load);
+        }
+    }
+
+    /**
+     * Reloads an entry past its refresh threshold on the refresh executor while the caller keeps the stale
+     * value. At most one refresh per key runs at a time; a refresh which is rejected or fails is retried
+     * by the next read.
+     */
+    private void refreshInBackground(Object key, Callable<?> valueLoader) {
+        final String localKey = toLocalKey(key);
+        final CompletableFuture<Object> refresh = new CompletableFuture<>();
+        if (loadsInFlight.putIfAbsent(localKey, refresh) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refresh.complete(loadOnceAcrossNodes(key, valueLoader));
+                } catch (Throwable e) {
+                    refresh.completeExceptionally(e);
+                    log.warn("Refresh ahead of cache {} failed, serving stale value: {}", getName(), e.getMessage());
+                } finally {
+                    loadsInFlight.remove(localKey, refresh);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            loadsInFlight.remove(localKey, refresh);
+            refresh.completeExceptionally(e);
+            log.debug("Refresh ahead of cache {} skipped, refresh queue is full", getName());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T loadOnceAcrossNodes(Object key, Callable<T> valueLoader) {
+        final String lockKey = getName() + "::" + toLocalKey(key);
+        final String lockOwner = origin + ":" + UUID.randomUUID();
+        final NearCacheEntry entryBeforeLock = localCache.getIfPresent(toLocalKey(key));
+        if (loadLock.tryLock(lockKey, lockOwner)) {
+            try {
+                final NearCacheEntry loadedByOtherNode = findRemoteEntryNewerThan(key, entryBeforeLock);
+                if (loadedByOtherNode != null) {
+                    return (T) loadedByOtherNode.value();
+                }
+                return loadAndPut(key, valueLoader);
+            } finally {
+                loadLock.unlock(lockKey, lockOwner);
+            }
+        }
+        if (entryBeforeLock != null) {
+            return (T) entryBeforeLock.value();
+        }
+        final long deadline = System.nanoTime() + loadLock.lockTimeToLive().toNanos();
+        while (System.nanoTime() < deadline && sleep(loadLockPollInterval)) {
+            final NearCacheEntry loadedByOtherNode = findRemoteEntryNewerThan(key, null);
+            if (loadedByOtherNode != null) {
+                return (T) loadedByOtherNode.value();
+            }
+        }
+        return loadAndPut(key, valueLoader);
+    }
+
+    private NearCacheEntry findRemoteEntryNewerThan(Object key, NearCacheEntry knownEntry) {
+        final ValueWrapper remoteValue = remoteCache.get(key);
+        if (remoteValue == null) {
+            return null;
+        }
+        final NearCacheEntry remoteEntry = NearCacheEntry.fromRemoteValue(remoteValue.get());
+        if (knownEntry != null && !remoteEntry.createdAt().isAfter(knownEntry.createdAt())) {
+            return null;
+        }
+        localCache.put(toLocalKey(key), remoteEntry);
+        return remoteEntry;
+    }
+
+    private <T> T loadAndPut(Object key, Callable<T> valueLoader) {
+        final T value = loadValue(key, valueLoader);
+        put(key, value);
+        return value;
+    }
+
+    private Object awaitLoad(CompletableFuture<Object> loadInFlight) {
+        try {
+            return loadInFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private <T> T loadValue(Object key, Callable<T> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    private String toLocalKey(Object key) {
+        return String.valueOf(key);
+    }
+}
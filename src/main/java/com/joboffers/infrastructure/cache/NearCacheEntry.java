@@ -0,0 +1,21 @@
+package com.joboffers.infrastructure.cache;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+
+record NearCacheEntry(
+        Object value,
+        Instant createdAt) implements Serializable {
+
+    static NearCacheEntry fromRemoteValue(Object remoteValue) {
+        if (remoteValue instanceof NearCacheEntry entry) {
+            return entry;
+        }
+        return new NearCacheEntry(remoteValue, Instant.EPOCH);
+    }
+
+    boolean isOlderThan(Duration age, Instant now) {
+        return createdAt.plus(age).isBefore(now);
+    }
+}
@@ -0,0 +1,31 @@
+package com.joboffers.infrastructure.cache;
+
+record NearCacheInvalidation(
+        String origin,
+        String cacheName,
+        String key) {
+
+    private static final String SEPARATOR = "\n";
+    private static final String ALL_KEYS = "";
+
+    static NearCacheInvalidation ofKey(String origin, String cacheName, String key) {
+        return new NearCacheInvalidation(origin, cacheName, key);
+    }
+
+    static NearCacheInvalidation ofAllKeys(String origin, String cacheName) {
+        return new NearCacheInvalidation(origin, cacheName, ALL_KEYS);
+    }
+
+    static NearCacheInvalidation fromPayload(String payload) {
+        final String[] parts = payload.split(SEPARATOR, 3);
+        return new NearCacheInvalidation(parts[0], parts[1], parts[2]);
+    }
+
+    String toPayload() {
+        return origin + SEPARATOR + cacheName + SEPARATOR + key;
+    }
+
+    boolean isForAllKeys() {
+        return ALL_KEYS.equals(key);
+    }
+}
@@ -0,0 +1,127 @@
+package com.joboffers.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Log4j2
+class NearCacheManager implements CacheManager, MessageListener {
+
+    private final CacheManager remoteCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCacheLoadLock loadLock;
+    private final NearCacheProperties properties;
+    private final Duration defaultRemoteTimeToLive;
+    private final Map<String, Duration> remoteTimeToLives;
+    private final Clock clock;
+    private final String origin = UUID.randomUUID().toString();
+    private final Map<String, NearCache> caches = new ConcurrentHashMap<>();
+    private final ExecutorService refreshExecutor;
+
+    NearCacheManager(CacheManager remoteCacheManager,
+                     StringRedisTemplate redisTemplate,
+                     NearCacheProperties properties,
+                     Duration defaultRemoteTimeToLive,
+                     Map<String, Duration> remoteTimeToLives,
+                     Clock clock) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.loadLock = new RedisCacheLoadLock(redisTemplate, properties.loadLockTimeToLive());
+        this.properties = properties;
+        this.defaultRemoteTimeToLive = defaultRemoteTimeToLive;
+        this.remoteTimeToLives = remoteTimeToLives;
+        this.clock = clock;
+        this.refreshExecutor = new ThreadPoolExecutor(
+                properties.refreshThreads(), properties.refreshThreads(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.refreshQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "near-cache-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        final NearCacheInvalidation invalidation = NearCacheInvalidation.fromPayload(
+                new String(message.getBody(), StandardCharsets.UTF_8));
+        if (origin.equals(invalidation.origin())) {
+            return;
+        }
+        final NearCache cache = caches.get(invalidation.cacheName());
+        if (cache == null) {
+            return;
+        }
+        if (invalidation.isForAllKeys()) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(invalidation.key());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private NearCache createCache(String name) {
+        final Cache remoteCache = remoteCacheManager.getCache(name);
+        final Duration remoteTimeToLive = remoteTimeToLives.getOrDefault(name, defaultRemoteTimeToLive);
+        final Duration localTimeToLive = properties.timeToLive().compareTo(remoteTimeToLive) < 0
+                ? properties.timeToLive()
+                : remoteTimeToLive;
+        final Duration refreshAfter = properties.refreshAheadFraction() > 0 && properties.refreshAheadFraction() < 1
+                ? Duration.ofMillis((long) (remoteTimeToLive.toMillis() * properties.refreshAheadFraction()))
+                : null;
+        return new NearCache(
+                remoteCache,
+                Caffeine.newBuilder()
+                        .maximumSize(properties.maximumSize())
+                        .expireAfterWrite(localTimeToLive)
+                        .build(),
+                this::publish,
+                loadLock,
+                properties.loadLockPollInterval(),
+                refreshAfter,
+                refreshExecutor,
+                clock,
+                origin);
+    }
+
+    private void publish(NearCacheInvalidation invalidation) {
+        try {
+            redisTemplate.convertAndSend(properties.invalidationChannel(), invalidation.toPayload());
+        } catch (RuntimeException e) {
+            log.warn("Could not publish near cache invalidation for cache {}: {}",
+                    invalidation.cacheName(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.joboffers.infrastructure.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(value = "cache.near")
+public record NearCacheProperties(
+        long maximumSize,
+        Duration timeToLive,
+        String invalidationChannel,
+        Duration loadLockTimeToLive,
+        Duration loadLockPollInterval,
+        double refreshAheadFraction,
+        int refreshThreads,
+        int refreshQueueCapacity
+) {
+}
@@ -0,0 +1,45 @@
+package com.joboffers.infrastructure.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+@AllArgsConstructor
+@Log4j2
+class RedisCacheLoadLock {
+
+    private static final String LOCK_KEY_PREFIX = "lock:";
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration lockTimeToLive;
+
+    boolean tryLock(String key, String owner) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue()
+                    .setIfAbsent(LOCK_KEY_PREFIX + key, owner, lockTimeToLive));
+        } catch (RuntimeException e) {
+            log.warn("Could not acquire cache load lock {}: {}", key, e.getMessage());
+            return true;
+        }
+    }
+
+    void unlock(String key, String owner) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(LOCK_KEY_PREFIX + key), owner);
+        } catch (RuntimeException e) {
+            log.warn("Could not release cache load lock {}: {}", key, e.getMessage());
+        }
+    }
+
+    Duration lockTimeToLive() {
+        return lockTimeToLive;
+    }
+}
@@ -5,18 +5,30 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+
 @Configuration
 @EnableCaching
 @ConditionalOnProperty(value = "spring.cache.type", havingValue = "redis")
 class RedisConfiguration {
 
+    private static final String OFFER_MISSES_CACHE = "jobOfferMisses";
+
     @Bean
     public JedisConnectionFactory redisConnectionFactory(@Value("${spring.data.redis.host}") String hostname,
                                                          @Value("${spring.data.redis.port}") int port) {
@@ -34,4 +46,57 @@ class RedisConfiguration {
         redisTemplate.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
         return redisTemplate;
     }
+
+    @Bean
+    public NearCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                         NearCacheProperties nearCacheProperties,
+                                         @Value("${spring.cache.redis.time-to-live}") Duration timeToLive,
+                                         @Value("${cache.offer-misses.time-to-live:PT30S}") Duration offerMissesTimeToLive,
+                                         Clock clock) {
+        Map<String, Duration> timeToLives = Map.of(OFFER_MISSES_CACHE, offerMissesTimeToLive);
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig().entryTtl(timeToLive))
+                .withCacheConfiguration(OFFER_MISSES_CACHE,
+                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(offerMissesTimeToLive))
+                .build();
+        redisCacheManager.initializeCaches();
+        return new NearCacheManager(redisCacheManager, new StringRedisTemplate(redisConnectionFactory),
+                nearCacheProperties, timeToLive, timeToLives, clock);
+    }
+
+    @Bean
+    public JobOffersCacheWriter jobOffersCacheWriter(NearCacheManager cacheManager) {
+        return new JobOffersCacheWriter(cacheManager);
+    }
+
+    @Bean
+    public RedisOffersVersionCounter redisOffersVersionCounter(RedisConnectionFactory redisConnectionFactory,
+                                                               @Value("${cache.offers-version.local-time-to-live:PT1S}") Duration localTimeToLive,
+                                                               @Value("${cache.offers-version.channel:offers-version}") String channel,
+                                                               Clock clock) {
+        return new RedisOffersVersionCounter(new StringRedisTemplate(redisConnectionFactory), clock, localTimeToLive, channel);
+    }
+
+    @Bean
+    public RedisOfferUrlFilterStore redisOfferUrlFilterStore(RedisConnectionFactory redisConnectionFactory) {
+        RedisTemplate<String, byte[]> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(redisConnectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        redisTemplate.afterPropertiesSet();
+        return new RedisOfferUrlFilterStore(redisTemplate);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer nearCacheInvalidationListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                               NearCacheManager cacheManager,
+                                                                               NearCacheProperties nearCacheProperties,
+                                                                               RedisOffersVersionCounter offersVersionCounter,
+                                                                               @Value("${cache.offers-version.channel:offers-version}") String offersVersionChannel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(nearCacheProperties.invalidationChannel()));
+        container.addMessageListener(offersVersionCounter, new ChannelTopic(offersVersionChannel));
+        return container;
+    }
 }
@@ -0,0 +1,37 @@
+package com.joboffers.infrastructure.cache;
+
+import com.joboffers.domain.offer.OfferUrlFilterStore;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.Optional;
+
+@AllArgsConstructor
+@Log4j2
+class RedisOfferUrlFilterStore implements OfferUrlFilterStore {
+
+    private static final String OFFER_URL_FILTER_KEY = "offers:url-filter";
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+
+    @Override
+    public Optional<byte[]> load() {
+        try {
+            return Optional.ofNullable(redisTemplate.opsForValue().get(OFFER_URL_FILTER_KEY));
+        } catch (DataAccessException e) {
+            log.warn("Could not load offer url filter snapshot: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void save(byte[] snapshot) {
+        try {
+            redisTemplate.opsForValue().set(OFFER_URL_FILTER_KEY, snapshot);
+        } catch (DataAccessException e) {
+            log.warn("Could not save offer url filter snapshot: {}", e.getMessage());
+        }
+    }
+}
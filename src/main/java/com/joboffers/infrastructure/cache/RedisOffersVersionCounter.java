@@ -0,0 +1,81 @@
+package com.joboffers.infrastructure.cache;
+
+import com.joboffers.domain.offer.OffersVersion;
+import com.joboffers.domain.offer.OffersVersionCounter;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the version last read from Redis locally for {@code localTimeToLive}, so reads of the versioned offers
+ * list do not pay a Redis round trip each. Increments are published on {@code channel} and drop the local copy
+ * on every other node; the time to live bounds staleness when such a message is lost.
+ */
+class RedisOffersVersionCounter implements OffersVersionCounter, MessageListener {
+
+    private static final String OFFERS_VERSION_KEY = "offers:version";
+    private static final String OFFERS_VERSION_EPOCH_KEY = "offers:version:epoch";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Clock clock;
+    private final Duration localTimeToLive;
+    private final String channel;
+    private volatile LocalVersion localVersion;
+
+    RedisOffersVersionCounter(StringRedisTemplate redisTemplate, Clock clock, Duration localTimeToLive, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.clock = clock;
+        this.localTimeToLive = localTimeToLive;
+        this.channel = channel;
+    }
+
+    @Override
+    public OffersVersion currentVersion() {
+        final LocalVersion local = localVersion;
+        if (local != null && local.isFresh(clock.instant(), localTimeToLive)) {
+            return local.version();
+        }
+        final Instant readAt = clock.instant();
+        final List<String> values = redisTemplate.opsForValue().multiGet(List.of(OFFERS_VERSION_EPOCH_KEY, OFFERS_VERSION_KEY));
+        final String epoch = values == null ? null : values.get(0);
+        final String version = values == null ? null : values.get(1);
+        final OffersVersion currentVersion = new OffersVersion(
+                epoch == null ? currentEpoch() : epoch,
+                version == null ? 0 : Long.parseLong(version));
+        localVersion = new LocalVersion(currentVersion, readAt);
+        return currentVersion;
+    }
+
+    @Override
+    public OffersVersion incrementVersion() {
+        final String epoch = currentEpoch();
+        final Long version = redisTemplate.opsForValue().increment(OFFERS_VERSION_KEY);
+        final OffersVersion incrementedVersion = new OffersVersion(epoch, version == null ? 0 : version);
+        localVersion = null;
+        redisTemplate.convertAndSend(channel, incrementedVersion.tag());
+        return incrementedVersion;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        localVersion = null;
+    }
+
+    private String currentEpoch() {
+        redisTemplate.opsForValue().setIfAbsent(OFFERS_VERSION_EPOCH_KEY, UUID.randomUUID().toString());
+        return redisTemplate.opsForValue().get(OFFERS_VERSION_EPOCH_KEY);
+    }
+
+    private record LocalVersion(OffersVersion version, Instant readAt) {
+
+        boolean isFresh(Instant now, Duration timeToLive) {
+            return now.isBefore(readAt.plus(timeToLive));
+        }
+    }
+}
@@ -1,26 +1,95 @@
 package com.joboffers.infrastructure.offer.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.joboffers.domain.offer.OfferFacade;
+import com.joboffers.domain.offer.OffersVersion;
+import com.joboffers.domain.offer.dto.OfferPageResponseDto;
 import com.joboffers.domain.offer.dto.OfferRequestDto;
 import com.joboffers.domain.offer.dto.OfferResponseDto;
+import com.joboffers.infrastructure.offer.stream.OfferStreamBroadcaster;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/offers")
 @AllArgsConstructor
 public class OfferRestController {
 
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final String GZIP_ENCODING = "gzip";
+
     private final OfferFacade offerFacade;
+    private final ObjectMapper objectMapper;
+    private final OffersResponseSnapshotCache offersResponseSnapshotCache;
+    private final OfferStreamBroadcaster offerStreamBroadcaster;
 
     @GetMapping
-    public ResponseEntity<List<OfferResponseDto>> findAllOffers() {
-        List<OfferResponseDto> allOffers = offerFacade.findAllOffers();
-        return ResponseEntity.ok(allOffers);
+    public ResponseEntity<byte[]> findAllOffers(WebRequest webRequest,
+                                                @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                                String acceptEncoding) {
+        OffersVersion version = offerFacade.offersVersion();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String eTag = offersETag(gzip ? "all-gzip" : "all", version);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        OffersResponseSnapshot snapshot = offersResponseSnapshotCache.snapshot(version);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING).body(snapshot.gzipBody());
+        }
+        return response.body(snapshot.identityBody());
+    }
+
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllOffers(WebRequest webRequest) {
+        String eTag = offersETag("ndjson", offerFacade.offersVersion());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        StreamingResponseBody body = outputStream -> {
+            offerFacade.streamAllOffers(new OffersNdjsonWriter(objectMapper, outputStream));
+            outputStream.flush();
+        };
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<OfferPageResponseDto> findOffersPage(@RequestParam int limit,
+                                                               @RequestParam(required = false) String after,
+                                                               WebRequest webRequest) {
+        String eTag = offersETag("page-" + limit + "-" + (after == null ? "" : after), offerFacade.offersVersion());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        OfferPageResponseDto offersPage = offerFacade.findOffersPage(limit, after);
+        return ResponseEntity.ok().eTag(eTag).body(offersPage);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<OfferPageResponseDto> findOfferChanges(@RequestParam(required = false) String since,
+                                                                 @RequestParam(defaultValue = "100") int limit) {
+        OfferPageResponseDto changes = offerFacade.findOfferChanges(limit, since);
+        return ResponseEntity.ok(changes);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNewOffers() {
+        return offerStreamBroadcaster.subscribe();
     }
 
     @GetMapping("/{id}")
@@ -34,4 +103,21 @@ public class OfferRestController {
         OfferResponseDto offerResponseDto = offerFacade.saveOffer(offerDto);
         return ResponseEntity.status(HttpStatus.CREATED).body(offerResponseDto);
     }
+
+    private String offersETag(String representation, OffersVersion version) {
+        return "\"" + representation + "-" + version.tag() + "\"";
+    }
+
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String encoding : acceptEncoding.split(",")) {
+            String[] encodingAndWeight = encoding.trim().split(";");
+            if (GZIP_ENCODING.equalsIgnoreCase(encodingAndWeight[0].trim())) {
+                return encodingAndWeight.length == 1 || !encodingAndWeight[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 }
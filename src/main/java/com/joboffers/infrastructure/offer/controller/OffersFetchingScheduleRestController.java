@@ -0,0 +1,24 @@
+package com.joboffers.infrastructure.offer.controller;
+
+import com.joboffers.infrastructure.offer.scheduler.HttpOffersScheduler;
+import com.joboffers.infrastructure.offer.scheduler.OffersFetchingSchedule;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/offers/fetching-schedule")
+@ConditionalOnProperty(name = "scheduling.enabled", matchIfMissing = false)
+@AllArgsConstructor
+public class OffersFetchingScheduleRestController {
+
+    private final HttpOffersScheduler httpOffersScheduler;
+
+    @GetMapping
+    public ResponseEntity<OffersFetchingSchedule> fetchingSchedule() {
+        return ResponseEntity.ok(httpOffersScheduler.fetchingSchedule());
+    }
+}
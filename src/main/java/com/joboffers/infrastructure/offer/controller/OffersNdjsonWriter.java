@@ -0,0 +1,37 @@
+package com.joboffers.infrastructure.offer.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joboffers.domain.offer.dto.OfferResponseDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+class OffersNdjsonWriter implements Consumer<OfferResponseDto> {
+
+    private static final int FLUSH_EVERY_OFFERS = 100;
+    private static final byte NEW_LINE = '\n';
+
+    private final ObjectMapper objectMapper;
+    private final OutputStream outputStream;
+    private int writtenOffers;
+
+    OffersNdjsonWriter(ObjectMapper objectMapper, OutputStream outputStream) {
+        this.objectMapper = objectMapper;
+        this.outputStream = outputStream;
+    }
+
+    @Override
+    public void accept(OfferResponseDto offer) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(offer));
+            outputStream.write(NEW_LINE);
+            if (writtenOffers++ % FLUSH_EVERY_OFFERS == 0) {
+                outputStream.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
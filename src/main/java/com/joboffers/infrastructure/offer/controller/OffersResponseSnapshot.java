@@ -0,0 +1,12 @@
+package com.joboffers.infrastructure.offer.controller;
+
+import com.joboffers.domain.offer.OffersVersion;
+
+import java.time.Instant;
+
+record OffersResponseSnapshot(
+        OffersVersion version,
+        Instant createdAt,
+        byte[] identityBody,
+        byte[] gzipBody) {
+}
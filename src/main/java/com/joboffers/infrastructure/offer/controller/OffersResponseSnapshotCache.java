@@ -0,0 +1,80 @@
+package com.joboffers.infrastructure.offer.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joboffers.domain.offer.OfferFacade;
+import com.joboffers.domain.offer.OffersVersion;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+@Log4j2
+class OffersResponseSnapshotCache {
+
+    private final OfferFacade offerFacade;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final Duration maxAge;
+    private volatile OffersResponseSnapshot snapshot;
+
+    OffersResponseSnapshotCache(OfferFacade offerFacade,
+                                ObjectMapper objectMapper,
+                                Clock clock,
+                                @Value("${spring.cache.redis.time-to-live:PT60M}") Duration maxAge) {
+        this.offerFacade = offerFacade;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.maxAge = maxAge;
+    }
+
+    OffersResponseSnapshot snapshot(OffersVersion version) {
+        OffersResponseSnapshot current = snapshot;
+        if (isUpToDate(current, version)) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (isUpToDate(current, version)) {
+                return current;
+            }
+            final byte[] identityBody = serializeAllOffers(version);
+            current = new OffersResponseSnapshot(version, clock.instant(), identityBody, gzip(identityBody));
+            snapshot = current;
+            log.info("Built offers response snapshot for version {} ({} bytes, {} bytes gzipped)",
+                    version.tag(), current.identityBody().length, current.gzipBody().length);
+            return current;
+        }
+    }
+
+    private boolean isUpToDate(OffersResponseSnapshot current, OffersVersion version) {
+        return current != null
+                && current.version().equals(version)
+                && current.createdAt().plus(maxAge).isAfter(clock.instant());
+    }
+
+    private byte[] serializeAllOffers(OffersVersion version) {
+        // the offers list is cached under its version, so the snapshot holds exactly the data it is labelled with
+        try {
+            return objectMapper.writeValueAsBytes(offerFacade.findAllOffers(version));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize offers response snapshot", e);
+        }
+    }
+
+    private byte[] gzip(byte[] body) {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(body.length / 4, 64));
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed)) {
+            gzipOutputStream.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
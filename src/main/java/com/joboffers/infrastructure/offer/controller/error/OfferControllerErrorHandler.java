@@ -1,5 +1,6 @@
 package com.joboffers.infrastructure.offer.controller.error;
 
+import com.joboffers.domain.offer.InvalidOfferCursorException;
 import com.joboffers.domain.offer.OfferNotFoundException;
 import org.springframework.dao.DuplicateKeyException;
 import lombok.extern.log4j.Log4j2;
@@ -9,21 +10,37 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
 
 @ControllerAdvice
 @Log4j2
 class OfferControllerErrorHandler {
 
+    private static final long NOT_FOUND_LOG_INTERVAL_NANOS = Duration.ofSeconds(10).toNanos();
+
+    private final AtomicLong nextNotFoundLogAt = new AtomicLong(System.nanoTime());
+    private final AtomicLong suppressedNotFoundLogs = new AtomicLong();
+
     @ResponseStatus(HttpStatus.NOT_FOUND)
     @ExceptionHandler(OfferNotFoundException.class)
     @ResponseBody
     public OfferErrorResponse offerNotFound(OfferNotFoundException exception) {
         final String message = exception.getMessage();
-        log.error(message);
+        logNotFoundRateLimited(message);
         return new OfferErrorResponse(message, HttpStatus.NOT_FOUND);
     }
 
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidOfferCursorException.class)
+    @ResponseBody
+    public OfferErrorResponse invalidCursor(InvalidOfferCursorException exception) {
+        final String message = exception.getMessage();
+        log.warn(message);
+        return new OfferErrorResponse(message, HttpStatus.BAD_REQUEST);
+    }
+
     @ResponseStatus(HttpStatus.CONFLICT)
     @ExceptionHandler(DuplicateKeyException.class)
     @ResponseBody
@@ -32,4 +49,15 @@ class OfferControllerErrorHandler {
         log.error(message);
         return new OfferPostErrorResponse(Collections.singletonList(message), HttpStatus.CONFLICT);
     }
+
+    private void logNotFoundRateLimited(String message) {
+        final long now = System.nanoTime();
+        final long nextLogAt = nextNotFoundLogAt.get();
+        if (now - nextLogAt < 0 || !nextNotFoundLogAt.compareAndSet(nextLogAt, now + NOT_FOUND_LOG_INTERVAL_NANOS)) {
+            suppressedNotFoundLogs.incrementAndGet();
+            log.debug(message);
+            return;
+        }
+        log.warn("{} ({} similar messages suppressed)", message, suppressedNotFoundLogs.getAndSet(0));
+    }
 }
@@ -0,0 +1,267 @@
+package com.joboffers.infrastructure.offer.http;
+
+import com.joboffers.domain.offer.OfferFetchable;
+import com.joboffers.domain.offer.OffersChunkHandler;
+import com.joboffers.domain.offer.dto.JobOfferResponseDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Log4j2
+class CompositeOfferFetcher implements OfferFetchable {
+
+    private static final int DEFAULT_CHUNK_SIZE = 500;
+    private static final long HAND_OVER_POLL_MILLIS = 100;
+    private static final long MIN_TIMEOUT_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final List<OfferSource> sources;
+    private final Set<OfferSource> fetchedSources = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "offer-source-fetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ScheduledExecutorService timeouts = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "offer-source-timeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    CompositeOfferFetcher(List<OfferSource> sources) {
+        this.sources = List.copyOf(sources);
+    }
+
+    @Override
+    public List<JobOfferResponseDto> fetchOffers() {
+        final Map<String, JobOfferResponseDto> offersByUrl = new LinkedHashMap<>();
+        fetchOffers(DEFAULT_CHUNK_SIZE, chunk -> {
+            boolean newOffers = false;
+            for (JobOfferResponseDto offer : chunk) {
+                newOffers |= offersByUrl.putIfAbsent(offer.offerUrl(), offer) == null;
+            }
+            return CompletableFuture.completedFuture(newOffers);
+        });
+        return new ArrayList<>(offersByUrl.values());
+    }
+
+    @Override
+    public void fetchOffers(int chunkSize, OffersChunkHandler chunkHandler) {
+        fetchedSources.clear();
+        final BlockingQueue<PendingChunk> chunks = new ArrayBlockingQueue<>(sources.size() * 2);
+        final List<CompletableFuture<Void>> sourceFetches = new ArrayList<>();
+        // submitting to the cached pool may clear the interrupt flag, so it is set aside and restored
+        final boolean interrupted = Thread.interrupted();
+        final CompletableFuture<Void> allSources = CompletableFuture.allOf(sources.stream()
+                .map(source -> fetchSource(source, chunkSize, chunks, sourceFetches))
+                .toArray(CompletableFuture[]::new));
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            while (!allSources.isDone() || !chunks.isEmpty()) {
+                final PendingChunk chunk = chunks.poll(HAND_OVER_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (chunk != null) {
+                    handle(chunk, chunkHandler);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            final CancellationException cancellation = new CancellationException("Offers fetching was interrupted");
+            sourceFetches.forEach(fetch -> fetch.completeExceptionally(cancellation));
+            chunks.forEach(chunk -> chunk.handled().completeExceptionally(cancellation));
+            throw cancellation;
+        }
+    }
+
+    private CompletableFuture<Void> fetchSource(OfferSource source, int chunkSize, BlockingQueue<PendingChunk> chunks,
+                                                List<CompletableFuture<Void>> sourceFetches) {
+        if (!source.permits().tryAcquire()) {
+            log.warn("Skipped offer source {}, previous fetches are still in progress", source.name());
+            return CompletableFuture.completedFuture(null);
+        }
+        final SourceFetch sourceFetch = new SourceFetch(source.timeout());
+        final CompletableFuture<Void> fetch = new CompletableFuture<>();
+        sourceFetches.add(fetch);
+        final FutureTask<Void> task = new FutureTask<>(() -> {
+            try {
+                source.fetcher().fetchOffers(chunkSize, chunk -> handOver(chunk, sourceFetch, chunks));
+                fetchedSources.add(source);
+                fetch.complete(null);
+            } catch (RuntimeException | Error e) {
+                fetch.completeExceptionally(e);
+            } finally {
+                source.permits().release();
+            }
+            return null;
+        });
+        try {
+            executor.execute(task);
+        } catch (RuntimeException e) {
+            source.permits().release();
+            throw e;
+        }
+        scheduleTimeout(source, sourceFetch, fetch, sourceFetch.remainingNanos());
+        return fetch.handle((ignored, error) -> {
+            sourceFetch.close();
+            if (error != null) {
+                // interrupts the fetch thread, so a timed-out source does not keep reading in the background
+                task.cancel(true);
+                final Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                log.warn("Fetching offers from source {} failed: {}", source.name(), cause.toString());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Times the source out once it spent its timeout outside of {@link #handOver}, so a source held back by
+     * a slow chunk handler is not blamed for the time it waited to hand its chunks over.
+     */
+    private void scheduleTimeout(OfferSource source, SourceFetch sourceFetch, CompletableFuture<Void> fetch,
+                                 long delayNanos) {
+        if (fetch.isDone()) {
+            return;
+        }
+        try {
+            timeouts.schedule(() -> {
+                final long remainingNanos = sourceFetch.remainingNanos();
+                if (remainingNanos > 0) {
+                    scheduleTimeout(source, sourceFetch, fetch, remainingNanos);
+                } else {
+                    fetch.completeExceptionally(new TimeoutException(
+                            "Offer source " + source.name() + " did not finish within " + source.timeout()));
+                }
+            }, Math.max(delayNanos, MIN_TIMEOUT_CHECK_NANOS), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            fetch.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public void confirmFetched() {
+        fetchedSources.forEach(source -> source.fetcher().confirmFetched());
+        fetchedSources.clear();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        timeouts.shutdownNow();
+    }
+
+    private void handle(PendingChunk chunk, OffersChunkHandler chunkHandler) {
+        try {
+            chunkHandler.handle(chunk.offers()).whenComplete((newOffers, error) -> {
+                if (error != null) {
+                    chunk.handled().completeExceptionally(error);
+                } else {
+                    chunk.handled().complete(newOffers);
+                }
+            });
+        } catch (RuntimeException e) {
+            chunk.handled().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private CompletableFuture<Boolean> handOver(List<JobOfferResponseDto> offers, SourceFetch sourceFetch,
+                                                BlockingQueue<PendingChunk> chunks) {
+        final PendingChunk chunk = new PendingChunk(offers, sourceFetch.track(new CompletableFuture<>()));
+        if (chunks.offer(chunk)) {
+            return chunk.handled();
+        }
+        sourceFetch.handOverBlocked();
+        try {
+            while (sourceFetch.isOpen()) {
+                if (chunks.offer(chunk, HAND_OVER_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return chunk.handled();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            sourceFetch.handOverUnblocked();
+        }
+        throw new CancellationException("Offer source fetch was abandoned");
+    }
+
+    private record PendingChunk(List<JobOfferResponseDto> offers, CompletableFuture<Boolean> handled) {
+    }
+
+    /**
+     * Chunks a source handed over and is possibly still waiting for. Closing the fetch fails them,
+     * so a source which timed out is not left blocked on chunks that will never be handled.
+     * Also keeps the time the source spent blocked on a full hand-over queue, which does not count
+     * against its timeout.
+     */
+    private static class SourceFetch {
+
+        private final Set<CompletableFuture<Boolean>> pendingChunks = ConcurrentHashMap.newKeySet();
+        private final long timeoutNanos;
+        private final long startedAt = System.nanoTime();
+        private volatile boolean open = true;
+        private int blockedHandOvers;
+        private long blockedSince;
+        private long blockedNanos;
+
+        SourceFetch(Duration timeout) {
+            this.timeoutNanos = timeout.toNanos();
+        }
+
+        synchronized void handOverBlocked() {
+            if (blockedHandOvers++ == 0) {
+                blockedSince = System.nanoTime();
+            }
+        }
+
+        synchronized void handOverUnblocked() {
+            if (--blockedHandOvers == 0) {
+                blockedNanos += System.nanoTime() - blockedSince;
+            }
+        }
+
+        synchronized long remainingNanos() {
+            final long now = System.nanoTime();
+            final long blocked = blockedNanos + (blockedHandOvers > 0 ? now - blockedSince : 0);
+            return timeoutNanos - (now - startedAt - blocked);
+        }
+
+        boolean isOpen() {
+            return open;
+        }
+
+        CompletableFuture<Boolean> track(CompletableFuture<Boolean> chunk) {
+            pendingChunks.add(chunk);
+            chunk.whenComplete((newOffers, error) -> pendingChunks.remove(chunk));
+            if (!open) {
+                chunk.completeExceptionally(new CancellationException("Offer source fetch was abandoned"));
+            }
+            return chunk;
+        }
+
+        void close() {
+            open = false;
+            pendingChunks.forEach(chunk -> chunk.completeExceptionally(
+                    new CancellationException("Offer source fetch was abandoned")));
+        }
+    }
+}
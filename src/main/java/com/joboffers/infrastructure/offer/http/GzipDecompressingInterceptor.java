@@ -0,0 +1,76 @@
+package com.joboffers.infrastructure.offer.http;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.zip.GZIPInputStream;
+
+class GzipDecompressingInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String GZIP_ENCODING = "gzip";
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, GZIP_ENCODING);
+        final ClientHttpResponse response = execution.execute(request, body);
+        final String contentEncoding = response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+        return GZIP_ENCODING.equalsIgnoreCase(contentEncoding) ? new GzipClientHttpResponse(response) : response;
+    }
+
+    private static class GzipClientHttpResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final HttpHeaders headers;
+        private InputStream body;
+
+        GzipClientHttpResponse(ClientHttpResponse response) {
+            this.response = response;
+            this.headers = new HttpHeaders();
+            this.headers.putAll(response.getHeaders());
+            this.headers.remove(HttpHeaders.CONTENT_ENCODING);
+            this.headers.remove(HttpHeaders.CONTENT_LENGTH);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                final PushbackInputStream compressed = new PushbackInputStream(response.getBody());
+                final int firstByte = compressed.read();
+                if (firstByte == -1) {
+                    body = InputStream.nullInputStream();
+                } else {
+                    compressed.unread(firstByte);
+                    body = new GZIPInputStream(compressed);
+                }
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+    }
+}
@@ -1,51 +1,287 @@
 package com.joboffers.infrastructure.offer.http;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.joboffers.domain.offer.OfferFetchable;
+import com.joboffers.domain.offer.OffersChunkHandler;
 import com.joboffers.domain.offer.dto.JobOfferResponseDto;
-import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
-@AllArgsConstructor
 @Log4j2
 public class OfferHttpClient implements OfferFetchable {
 
+    private static final int DEFAULT_CHUNK_SIZE = 500;
+    private static final Executor PAGE_FETCH_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "offer-page-fetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private final RestTemplate restTemplate;
     private final String uri;
     private final int port;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader offerReader;
+    private final OfferPaginationProperties pagination;
+    private volatile UpstreamVersion lastVersion;
+    private volatile UpstreamVersion fetchedVersion;
+
+    public OfferHttpClient(RestTemplate restTemplate, String uri, int port, ObjectMapper objectMapper) {
+        this(restTemplate, uri, port, objectMapper, OfferPaginationProperties.NONE);
+    }
+
+    public OfferHttpClient(RestTemplate restTemplate, String uri, int port, ObjectMapper objectMapper,
+                           OfferPaginationProperties pagination) {
+        this.restTemplate = restTemplate;
+        this.uri = uri;
+        this.port = port;
+        this.objectMapper = objectMapper;
+        this.offerReader = objectMapper.readerFor(JobOfferResponseDto.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.pagination = pagination;
+    }
 
     @Override
     public List<JobOfferResponseDto> fetchOffers() {
+        final List<JobOfferResponseDto> offers = new ArrayList<>();
+        fetchOffers(DEFAULT_CHUNK_SIZE, chunk -> CompletableFuture.completedFuture(offers.addAll(chunk)));
+        return offers;
+    }
+
+    @Override
+    public void fetchOffers(int chunkSize, OffersChunkHandler chunkHandler) {
         log.info("Started fetching offers using http client");
-        HttpHeaders headers = new HttpHeaders();
-        final HttpEntity<HttpHeaders> requestEntity = new HttpEntity<>(headers);
+        fetchedVersion = null;
         try {
             String urlForService = getUrlForService("/offers");
             final String url = UriComponentsBuilder.fromHttpUrl(urlForService).toUriString();
-            ResponseEntity<List<JobOfferResponseDto>> response = restTemplate.exchange(url, HttpMethod.GET, requestEntity,
-                    new ParameterizedTypeReference<>() {
-                    });
-            final List<JobOfferResponseDto> body = response.getBody();
-            if (body == null) {
-                log.error("Response Body was null");
-                throw new ResponseStatusException(HttpStatus.NO_CONTENT);
+            final Integer fetchedOffers = switch (pagination.mode()) {
+                case NONE -> fetchAllAtOnce(url, chunkSize, chunkHandler);
+                case PAGE -> fetchPages(url, chunkSize, chunkHandler);
+                case CURSOR -> fetchCursorPages(url, chunkSize, chunkHandler);
+            };
+            if (fetchedOffers == null) {
+                log.info("Offers did not change since last fetch");
+            } else {
+                log.info("Success Response Body Returned {} offers", fetchedOffers);
             }
-            log.info("Success Response Body Returned: " + body);
-            return body;
         } catch (ResourceAccessException e) {
             log.error("Error while fetching offers using http client: " + e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    @Override
+    public void confirmFetched() {
+        final UpstreamVersion confirmedVersion = fetchedVersion;
+        if (confirmedVersion != null) {
+            lastVersion = confirmedVersion;
+            fetchedVersion = null;
+        }
+    }
+
+    private Integer fetchAllAtOnce(String url, int chunkSize, OffersChunkHandler chunkHandler) {
+        final UpstreamVersion previousVersion = lastVersion;
+        return restTemplate.execute(url, HttpMethod.GET,
+                request -> prepareRequest(request.getHeaders(), previousVersion),
+                response -> readOffersIfChanged(response, previousVersion, chunkSize, chunkHandler));
+    }
+
+    // Numbered and cursor pages are fetched without conditional headers: validators of a single page would go
+    // stale as soon as offers shift between pages, and stopping at the first page with only known offers
+    // already bounds the work.
+    private Integer fetchPages(String url, int chunkSize, OffersChunkHandler chunkHandler) {
+        final Deque<CompletableFuture<List<JobOfferResponseDto>>> pagesInFlight = new ArrayDeque<>();
+        int nextPage = pagination.firstPage();
+        int fetchedOffers = 0;
+        try {
+            while (pagesInFlight.size() < Math.max(pagination.parallelism(), 1)) {
+                pagesInFlight.add(fetchPageAsync(url, nextPage++));
+            }
+            while (!pagesInFlight.isEmpty()) {
+                final List<JobOfferResponseDto> page = join(pagesInFlight.poll());
+                fetchedOffers += page.size();
+                if (!handlePage(page, chunkSize, chunkHandler) || page.size() < pagination.pageSize()) {
+                    break;
+                }
+                pagesInFlight.add(fetchPageAsync(url, nextPage++));
+            }
+        } finally {
+            pagesInFlight.forEach(page -> page.cancel(true));
+        }
+        return fetchedOffers;
+    }
+
+    private Integer fetchCursorPages(String url, int chunkSize, OffersChunkHandler chunkHandler) {
+        String cursor = null;
+        int fetchedOffers = 0;
+        do {
+            final String pageUrl = cursor == null
+                    ? pageUrl(url)
+                    : UriComponentsBuilder.fromHttpUrl(pageUrl(url)).queryParam(pagination.cursorParam(), cursor).toUriString();
+            final CursorPage page = restTemplate.execute(pageUrl, HttpMethod.GET,
+                    request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                    response -> new CursorPage(readPage(response),
+                            response.getHeaders().getFirst(pagination.nextCursorHeader())));
+            fetchedOffers += page.offers().size();
+            if (page.offers().isEmpty() || !handlePage(page.offers(), chunkSize, chunkHandler)) {
+                break;
+            }
+            cursor = page.nextCursor();
+        } while (cursor != null && !cursor.isBlank());
+        return fetchedOffers;
+    }
+
+    private CompletableFuture<List<JobOfferResponseDto>> fetchPageAsync(String url, int page) {
+        final String pageUrl = UriComponentsBuilder.fromHttpUrl(pageUrl(url))
+                .queryParam(pagination.pageParam(), page)
+                .toUriString();
+        return CompletableFuture.supplyAsync(() -> restTemplate.execute(pageUrl, HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                this::readPage), PAGE_FETCH_EXECUTOR);
+    }
+
+    private String pageUrl(String url) {
+        return UriComponentsBuilder.fromHttpUrl(url)
+                .queryParam(pagination.sizeParam(), pagination.pageSize())
+                .toUriString();
+    }
+
+    private List<JobOfferResponseDto> readPage(ClientHttpResponse response) throws IOException {
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NO_CONTENT)) {
+            return List.of();
+        }
+        final List<JobOfferResponseDto> offers = new ArrayList<>(pagination.pageSize());
+        readOffers(response.getBody(), pagination.pageSize(),
+                chunk -> CompletableFuture.completedFuture(offers.addAll(chunk)));
+        return offers;
+    }
+
+    private boolean handlePage(List<JobOfferResponseDto> page, int chunkSize, OffersChunkHandler chunkHandler) {
+        final List<CompletableFuture<Boolean>> handledChunks = new ArrayList<>();
+        for (int from = 0; from < page.size(); from += chunkSize) {
+            handledChunks.add(chunkHandler.handle(page.subList(from, Math.min(from + chunkSize, page.size()))));
+        }
+        boolean newOffers = false;
+        for (CompletableFuture<Boolean> handledChunk : handledChunks) {
+            newOffers |= join(handledChunk);
+        }
+        return newOffers;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void prepareRequest(HttpHeaders headers, UpstreamVersion previousVersion) {
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (previousVersion != null) {
+            previousVersion.writeConditionsTo(headers);
+        }
+    }
+
+    private Integer readOffersIfChanged(ClientHttpResponse response, UpstreamVersion previousVersion, int chunkSize,
+                                        OffersChunkHandler chunkHandler) throws IOException {
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            return null;
+        }
+        final UpstreamVersion currentVersion = UpstreamVersion.of(response.getHeaders());
+        if (currentVersion.hasValidators()) {
+            if (currentVersion.equals(previousVersion)) {
+                return null;
+            }
+            final int fetchedOffers = readOffers(response.getBody(), chunkSize, chunkHandler);
+            fetchedVersion = currentVersion;
+            return fetchedOffers;
+        }
+        // without validators the body is hashed while it streams through the parser, so the offers are
+        // handed over before the hash can tell an unchanged body; dedupe drops them as already known
+        final DigestInputStream body = new DigestInputStream(response.getBody(), sha256());
+        final int fetchedOffers;
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            fetchedOffers = readOffers(parser, chunkSize, chunkHandler);
+            body.transferTo(OutputStream.nullOutputStream());
+        }
+        final UpstreamVersion hashedVersion = currentVersion.withBodyHash(
+                HexFormat.of().formatHex(body.getMessageDigest().digest()));
+        if (hashedVersion.equals(previousVersion)) {
+            return null;
+        }
+        fetchedVersion = hashedVersion;
+        return fetchedOffers;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private int readOffers(InputStream body, int chunkSize, OffersChunkHandler chunkHandler) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            return readOffers(parser, chunkSize, chunkHandler);
+        }
+    }
+
+    private int readOffers(JsonParser parser, int chunkSize, OffersChunkHandler chunkHandler) throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            log.error("Response Body was null");
+            throw new ResponseStatusException(HttpStatus.NO_CONTENT);
+        }
+        int fetchedOffers = 0;
+        List<JobOfferResponseDto> chunk = new ArrayList<>(chunkSize);
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            chunk.add(offerReader.readValue(parser));
+            fetchedOffers++;
+            if (chunk.size() == chunkSize) {
+                chunkHandler.handle(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunkHandler.handle(chunk);
+        }
+        return fetchedOffers;
+    }
+
     private String getUrlForService(String service) {
         return uri + ":" + port + service;
     }
+
+    private record CursorPage(List<JobOfferResponseDto> offers, String nextCursor) {
+    }
 }
@@ -1,13 +1,18 @@
 package com.joboffers.infrastructure.offer.http;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.joboffers.domain.offer.OfferFetchable;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.List;
 
 @Configuration
 public class OfferHttpClientConfig {
@@ -17,21 +22,86 @@ public class OfferHttpClientConfig {
         return new RestTemplateResponseErrorHandler();
     }
 
+    @Bean
+    public OfferHttpTransportSettings offerHttpTransportSettings(
+            @Value("${offer.http.client.config.transport:JDK}") OfferHttpTransport transport,
+            @Value("${offer.http.client.config.httpVersion:HTTP_2}") HttpClient.Version httpVersion,
+            @Value("${offer.http.client.config.compression:true}") boolean compression) {
+        return new OfferHttpTransportSettings(transport, httpVersion, compression);
+    }
+
     @Bean
     public RestTemplate restTemplate(@Value("${offer.http.client.config.connectionTimeout:1000}") long connectionTimeout,
                               @Value("${offer.http.client.config.readTimeout:1000}") long readTimeout,
+                              OfferHttpTransportSettings offerHttpTransportSettings,
                               RestTemplateResponseErrorHandler restTemplateResponseErrorHandler) {
-        return new RestTemplateBuilder()
-                .errorHandler(restTemplateResponseErrorHandler)
-                .setConnectTimeout(Duration.ofMillis(connectionTimeout))
-                .setReadTimeout(Duration.ofMillis(readTimeout))
-                .build();
+        return createRestTemplate(Duration.ofMillis(connectionTimeout), Duration.ofMillis(readTimeout),
+                offerHttpTransportSettings, restTemplateResponseErrorHandler);
     }
 
     @Bean
-    public OfferFetchable remoteOfferClient(RestTemplate restTemplate,
-                                     @Value("${offer.http.client.config.uri:http://example.com}") String uri,
-                                     @Value("${offer.http.client.config.port:5057}") int port) {
-        return new OfferHttpClient(restTemplate, uri, port);
+    public OfferFetchable offerFetcher(OfferSourcesProperties offerSourcesProperties,
+                                       OfferPaginationProperties offerPaginationProperties,
+                                       RestTemplate restTemplate,
+                                       OfferHttpTransportSettings offerHttpTransportSettings,
+                                       RestTemplateResponseErrorHandler restTemplateResponseErrorHandler,
+                                       @Value("${offer.http.client.config.uri:http://example.com}") String uri,
+                                       @Value("${offer.http.client.config.port:5057}") int port,
+                                       ObjectMapper objectMapper) {
+        if (offerSourcesProperties.sources().isEmpty()) {
+            return remoteOfferClient(restTemplate, uri, port, objectMapper, offerPaginationProperties);
+        }
+        List<OfferSource> sources = offerSourcesProperties.sources()
+                .stream()
+                .map(source -> new OfferSource(
+                        source.name(),
+                        remoteOfferClient(
+                                createRestTemplate(source.connectionTimeout(), source.readTimeout(),
+                                        offerHttpTransportSettings, restTemplateResponseErrorHandler),
+                                source.uri(), source.port(), objectMapper, offerPaginationProperties),
+                        source.timeout(),
+                        source.maxConcurrentFetches()))
+                .toList();
+        return new CompositeOfferFetcher(sources);
+    }
+
+    public OfferFetchable remoteOfferClient(RestTemplate restTemplate, String uri, int port, ObjectMapper objectMapper) {
+        return remoteOfferClient(restTemplate, uri, port, objectMapper, OfferPaginationProperties.NONE);
+    }
+
+    public OfferFetchable remoteOfferClient(RestTemplate restTemplate, String uri, int port, ObjectMapper objectMapper,
+                                            OfferPaginationProperties offerPaginationProperties) {
+        return new OfferHttpClient(restTemplate, uri, port, objectMapper, offerPaginationProperties);
+    }
+
+    private RestTemplate createRestTemplate(Duration connectionTimeout, Duration readTimeout,
+                                            OfferHttpTransportSettings transportSettings,
+                                            RestTemplateResponseErrorHandler restTemplateResponseErrorHandler) {
+        RestTemplateBuilder restTemplateBuilder = new RestTemplateBuilder()
+                .errorHandler(restTemplateResponseErrorHandler);
+        if (transportSettings.transport() == OfferHttpTransport.JDK) {
+            restTemplateBuilder = restTemplateBuilder.requestFactory(() -> jdkRequestFactory(connectionTimeout, readTimeout,
+                    transportSettings.httpVersion()));
+        } else {
+            restTemplateBuilder = restTemplateBuilder
+                    .setConnectTimeout(connectionTimeout)
+                    .setReadTimeout(readTimeout);
+        }
+        if (transportSettings.compression()) {
+            restTemplateBuilder = restTemplateBuilder.additionalInterceptors(new GzipDecompressingInterceptor());
+        }
+        return restTemplateBuilder.build();
+    }
+
+    private ClientHttpRequestFactory jdkRequestFactory(Duration connectionTimeout, Duration readTimeout,
+                                                       HttpClient.Version httpVersion) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(httpVersion)
+                .connectTimeout(connectionTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        return requestFactory;
     }
 }
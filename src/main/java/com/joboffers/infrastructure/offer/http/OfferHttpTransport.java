@@ -0,0 +1,6 @@
+package com.joboffers.infrastructure.offer.http;
+
+public enum OfferHttpTransport {
+    JDK,
+    SIMPLE
+}
@@ -0,0 +1,10 @@
+package com.joboffers.infrastructure.offer.http;
+
+import java.net.http.HttpClient;
+
+public record OfferHttpTransportSettings(
+        OfferHttpTransport transport,
+        HttpClient.Version httpVersion,
+        boolean compression
+) {
+}
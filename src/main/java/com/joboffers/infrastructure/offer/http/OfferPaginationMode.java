@@ -0,0 +1,7 @@
+package com.joboffers.infrastructure.offer.http;
+
+public enum OfferPaginationMode {
+    NONE,
+    PAGE,
+    CURSOR
+}
@@ -0,0 +1,20 @@
+package com.joboffers.infrastructure.offer.http;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(value = "offer.http.client.config.pagination")
+public record OfferPaginationProperties(
+        @DefaultValue("NONE") OfferPaginationMode mode,
+        @DefaultValue("500") int pageSize,
+        @DefaultValue("4") int parallelism,
+        @DefaultValue("0") int firstPage,
+        @DefaultValue("page") String pageParam,
+        @DefaultValue("size") String sizeParam,
+        @DefaultValue("cursor") String cursorParam,
+        @DefaultValue("X-Next-Cursor") String nextCursorHeader
+) {
+
+    public static final OfferPaginationProperties NONE = new OfferPaginationProperties(OfferPaginationMode.NONE,
+            500, 1, 0, "page", "size", "cursor", "X-Next-Cursor");
+}
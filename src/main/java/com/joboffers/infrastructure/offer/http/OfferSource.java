@@ -0,0 +1,13 @@
+package com.joboffers.infrastructure.offer.http;
+
+import com.joboffers.domain.offer.OfferFetchable;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+
+record OfferSource(String name, OfferFetchable fetcher, Duration timeout, Semaphore permits) {
+
+    OfferSource(String name, OfferFetchable fetcher, Duration timeout, int maxConcurrentFetches) {
+        this(name, fetcher, timeout, new Semaphore(maxConcurrentFetches));
+    }
+}
@@ -0,0 +1,24 @@
+package com.joboffers.infrastructure.offer.http;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(value = "offer.http")
+public record OfferSourcesProperties(
+        @DefaultValue List<Source> sources
+) {
+
+    public record Source(
+            String name,
+            String uri,
+            int port,
+            @DefaultValue("PT1S") Duration connectionTimeout,
+            @DefaultValue("PT1S") Duration readTimeout,
+            @DefaultValue("PT30S") Duration timeout,
+            @DefaultValue("1") int maxConcurrentFetches
+    ) {
+    }
+}
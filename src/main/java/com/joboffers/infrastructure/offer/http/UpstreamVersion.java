@@ -0,0 +1,27 @@
+package com.joboffers.infrastructure.offer.http;
+
+import org.springframework.http.HttpHeaders;
+
+record UpstreamVersion(String eTag, String lastModified, String bodyHash) {
+
+    static UpstreamVersion of(HttpHeaders headers) {
+        return new UpstreamVersion(headers.getETag(), headers.getFirst(HttpHeaders.LAST_MODIFIED), null);
+    }
+
+    boolean hasValidators() {
+        return eTag != null || lastModified != null;
+    }
+
+    UpstreamVersion withBodyHash(String bodyHash) {
+        return new UpstreamVersion(eTag, lastModified, bodyHash);
+    }
+
+    void writeConditionsTo(HttpHeaders headers) {
+        if (eTag != null) {
+            headers.setIfNoneMatch(eTag);
+        }
+        if (lastModified != null) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.joboffers.infrastructure.offer.persistence;
+
+import com.joboffers.domain.offer.Offer;
+import com.joboffers.domain.offer.OfferBulkInsertException;
+import com.joboffers.domain.offer.OfferBulkInsertResult;
+import com.joboffers.domain.offer.OfferBulkRepository;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.extern.log4j.Log4j2;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+@Log4j2
+class OfferBulkRepositoryImpl implements OfferBulkRepository {
+
+    private static final String ID_FIELD = "_id";
+    private static final String COMPANY_FIELD = "company";
+    private static final String POSITION_FIELD = "position";
+    private static final String SALARY_FIELD = "salary";
+    private static final String URL_FIELD = "url";
+    private static final String URL_HASH_FIELD = "urlHash";
+    private static final String FINGERPRINT_FIELD = "fingerprint";
+    private static final String MIN_HASH_FIELD = "minHash";
+    private static final String MIN_HASH_BANDS_FIELD = "minHashBands";
+    private static final String UPDATED_FIELD = "updated";
+
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+
+    OfferBulkRepositoryImpl(MongoTemplate mongoTemplate,
+                            @Value("${offer.ingestion.insert-batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public OfferBulkInsertResult insertAllSkippingDuplicates(List<Offer> offers) {
+        final List<Offer> insertedOffers = new ArrayList<>(offers.size());
+        int skippedDuplicates = 0;
+        for (int from = 0; from < offers.size(); from += batchSize) {
+            final List<Offer> batch = offers.subList(from, Math.min(from + batchSize, offers.size()))
+                    .stream()
+                    .map(offer -> offer.id() == null ? offer.toBuilder().id(new ObjectId().toHexString()).build() : offer)
+                    .toList();
+            final Set<Integer> duplicateIndexes;
+            try {
+                duplicateIndexes = insertBatch(batch);
+            } catch (BulkOperationException e) {
+                final Set<Integer> failedIndexes = new HashSet<>();
+                e.getErrors().forEach(error -> failedIndexes.add(error.getIndex()));
+                addInsertedOffers(batch, failedIndexes, insertedOffers);
+                throw new OfferBulkInsertException(insertedOffers, e);
+            } catch (RuntimeException e) {
+                throw new OfferBulkInsertException(insertedOffers, e);
+            }
+            addInsertedOffers(batch, duplicateIndexes, insertedOffers);
+            skippedDuplicates += duplicateIndexes.size();
+        }
+        log.info("Inserted {} offers, skipped {} duplicates", insertedOffers.size(), skippedDuplicates);
+        return new OfferBulkInsertResult(insertedOffers, skippedDuplicates);
+    }
+
+    @Override
+    public List<Offer> updateAllChanged(List<Offer> offers) {
+        final List<Offer> updatedOffers = new ArrayList<>();
+        int modifiedOffers = 0;
+        for (int from = 0; from < offers.size(); from += batchSize) {
+            final List<Offer> batch = offers.subList(from, Math.min(from + batchSize, offers.size()));
+            final List<Offer> changedOffers = findChangedOffers(batch);
+            if (changedOffers.isEmpty()) {
+                continue;
+            }
+            final BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Offer.class);
+            changedOffers.forEach(offer -> bulkOperations.updateOne(
+                    Query.query(Criteria.where(ID_FIELD).is(offer.id())
+                            .and(FINGERPRINT_FIELD).ne(offer.fingerprint())),
+                    new Update()
+                            .set(COMPANY_FIELD, offer.companyName())
+                            .set(POSITION_FIELD, offer.position())
+                            .set(SALARY_FIELD, offer.salary())
+                            .set(FINGERPRINT_FIELD, offer.fingerprint())
+                            .set(MIN_HASH_FIELD, offer.minHash())
+                            .set(MIN_HASH_BANDS_FIELD, offer.minHashBands())
+                            .set(UPDATED_FIELD, offer.updatedAt())));
+            modifiedOffers += bulkOperations.execute().getModifiedCount();
+            updatedOffers.addAll(changedOffers);
+        }
+        log.info("Updated {} changed offers", modifiedOffers);
+        return updatedOffers;
+    }
+
+    @Override
+    public int assignCanonicalUrls(List<Offer> offers) {
+        int canonicalizedOffers = 0;
+        for (int from = 0; from < offers.size(); from += batchSize) {
+            final List<Offer> batch = offers.subList(from, Math.min(from + batchSize, offers.size()));
+            final BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Offer.class);
+            batch.forEach(offer -> bulkOperations.updateOne(
+                    Query.query(Criteria.where(ID_FIELD).is(offer.id())),
+                    new Update()
+                            .set(URL_FIELD, offer.offerUrl())
+                            .set(URL_HASH_FIELD, offer.urlHash())
+                            .set(UPDATED_FIELD, offer.updatedAt())));
+            try {
+                canonicalizedOffers += bulkOperations.execute().getModifiedCount();
+            } catch (BulkOperationException e) {
+                rethrowUnlessDuplicates(e);
+                canonicalizedOffers += e.getResult().getModifiedCount();
+                log.warn("Skipped {} stored offers whose canonical url is already taken", e.getErrors().size());
+            }
+        }
+        return canonicalizedOffers;
+    }
+
+    private static void addInsertedOffers(List<Offer> batch, Set<Integer> failedIndexes, List<Offer> insertedOffers) {
+        for (int index = 0; index < batch.size(); index++) {
+            if (!failedIndexes.contains(index)) {
+                insertedOffers.add(batch.get(index));
+            }
+        }
+    }
+
+    /**
+     * Bulk writes only report how many documents were modified, not which ones, so the stored fingerprints
+     * are read first and offers which are gone or already up to date are left out of the update.
+     */
+    private List<Offer> findChangedOffers(List<Offer> batch) {
+        final Query query = Query.query(Criteria.where(ID_FIELD).in(batch.stream().map(Offer::id).toList()));
+        query.fields().include(FINGERPRINT_FIELD);
+        final Map<String, Long> storedFingerprints = new HashMap<>();
+        mongoTemplate.find(query, Offer.class)
+                .forEach(stored -> storedFingerprints.put(stored.id(), stored.fingerprint()));
+        return batch.stream()
+                .filter(offer -> storedFingerprints.containsKey(offer.id()))
+                .filter(offer -> !Objects.equals(storedFingerprints.get(offer.id()), offer.fingerprint()))
+                .toList();
+    }
+
+    private Set<Integer> insertBatch(List<Offer> batch) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Offer.class)
+                    .insert(batch)
+                    .execute();
+            return Set.of();
+        } catch (BulkOperationException e) {
+            rethrowUnlessDuplicates(e);
+            final Set<Integer> duplicateIndexes = new HashSet<>();
+            e.getErrors().forEach(error -> duplicateIndexes.add(error.getIndex()));
+            return duplicateIndexes;
+        }
+    }
+
+    private static void rethrowUnlessDuplicates(BulkOperationException e) {
+        for (BulkWriteError error : e.getErrors()) {
+            if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.joboffers.infrastructure.offer.scheduler;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Component
+@Log4j2
+class AdaptiveFetchingTrigger implements Trigger {
+
+    private static final String CHANGED_DELAY_MESSAGE = "Offers fetching delay changed from {} to {} after {} new offers";
+
+    private final Duration minDelay;
+    private final Duration maxDelay;
+    private volatile Duration currentDelay;
+    private volatile int lastAddedOffers;
+    private volatile Instant nextFetchAt;
+
+    AdaptiveFetchingTrigger(@Value("${http.offers.scheduler.request.delay}") Duration initialDelay,
+                            @Value("${http.offers.scheduler.request.min-delay:${http.offers.scheduler.request.delay}}") Duration minDelay,
+                            @Value("${http.offers.scheduler.request.max-delay:${http.offers.scheduler.request.delay}}") Duration maxDelay) {
+        if (minDelay.compareTo(maxDelay) > 0) {
+            throw new IllegalArgumentException("Offers fetching min-delay must not be greater than max-delay");
+        }
+        this.minDelay = minDelay;
+        this.maxDelay = maxDelay;
+        this.currentDelay = clamp(initialDelay);
+    }
+
+    @Override
+    public Instant nextExecution(TriggerContext triggerContext) {
+        final Instant lastCompletion = triggerContext.lastCompletion();
+        nextFetchAt = lastCompletion == null
+                ? triggerContext.getClock().instant()
+                : lastCompletion.plus(currentDelay);
+        return nextFetchAt;
+    }
+
+    void recordFetchedRun(int addedOffers) {
+        final Duration previousDelay = currentDelay;
+        lastAddedOffers = addedOffers;
+        currentDelay = addedOffers > 0
+                ? clamp(previousDelay.dividedBy(2))
+                : clamp(previousDelay.plus(previousDelay.dividedBy(2)));
+        if (!currentDelay.equals(previousDelay)) {
+            log.info(CHANGED_DELAY_MESSAGE, previousDelay, currentDelay, addedOffers);
+        }
+    }
+
+    void recordFailedRun() {
+        currentDelay = clamp(currentDelay.multipliedBy(2));
+    }
+
+    OffersFetchingSchedule schedule() {
+        return new OffersFetchingSchedule(currentDelay, minDelay, maxDelay, lastAddedOffers, nextFetchAt);
+    }
+
+    private Duration clamp(Duration delay) {
+        if (delay.compareTo(minDelay) < 0) {
+            return minDelay;
+        }
+        return delay.compareTo(maxDelay) > 0 ? maxDelay : delay;
+    }
+}
@@ -4,12 +4,12 @@ import com.joboffers.domain.offer.OfferFacade;
 import com.joboffers.domain.offer.dto.OfferResponseDto;
 import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 @Component
 @AllArgsConstructor
@@ -17,17 +17,42 @@ import java.util.List;
 public class HttpOffersScheduler {
 
     private final OfferFacade offerFacade;
+    private final MongoSchedulerLock schedulerLock;
+    private final AdaptiveFetchingTrigger fetchingTrigger;
+    private static final String OFFERS_FETCHING_LOCK = "offers-fetching";
     private static final String STARTED_OFFERS_FETCHING_MESSAGE = "Started offers fetching {}";
     private static final String STOPPED_OFFERS_FETCHING_MESSAGE = "Stopped offers fetching {}";
+    private static final String SKIPPED_OFFERS_FETCHING_MESSAGE = "Skipped offers fetching {}, another node is fetching";
+    private static final String LOST_LOCK_MESSAGE = "Lost offers fetching lock with token {}, stopped saving offers";
     private static final String ADDED_NEW_OFFERS_MESSAGE = "Added new {} offers";
     private static final SimpleDateFormat dateFormat = new SimpleDateFormat("HH:mm:ss");
 
-    @Scheduled(fixedDelayString = "${http.offers.scheduler.request.delay}")
     public List<OfferResponseDto> fetchAllOffersAndSaveAllIfNotExists(){
-        log.info(STARTED_OFFERS_FETCHING_MESSAGE, dateFormat.format(new Date()));
-        final List<OfferResponseDto> addedOffers = offerFacade.fetchAllOffersAndSaveAllIfNotExists();
-        log.info(ADDED_NEW_OFFERS_MESSAGE, addedOffers.size());
-        log.info(STOPPED_OFFERS_FETCHING_MESSAGE, dateFormat.format(new Date()));
-        return addedOffers;
+        Optional<SchedulerLease> lease = Optional.empty();
+        try {
+            lease = schedulerLock.tryAcquire(OFFERS_FETCHING_LOCK);
+            if (lease.isEmpty()) {
+                log.info(SKIPPED_OFFERS_FETCHING_MESSAGE, dateFormat.format(new Date()));
+                return List.of();
+            }
+            log.info(STARTED_OFFERS_FETCHING_MESSAGE, dateFormat.format(new Date()));
+            final List<OfferResponseDto> addedOffers = offerFacade.fetchAllOffersAndSaveAllIfNotExists(lease.get()::isHeld);
+            if (!lease.get().isHeld()) {
+                log.warn(LOST_LOCK_MESSAGE, lease.get().token());
+            }
+            log.info(ADDED_NEW_OFFERS_MESSAGE, addedOffers.size());
+            fetchingTrigger.recordFetchedRun(addedOffers.size());
+            log.info(STOPPED_OFFERS_FETCHING_MESSAGE, dateFormat.format(new Date()));
+            return addedOffers;
+        } catch (RuntimeException exception) {
+            fetchingTrigger.recordFailedRun();
+            throw exception;
+        } finally {
+            lease.ifPresent(schedulerLock::release);
+        }
+    }
+
+    public OffersFetchingSchedule fetchingSchedule() {
+        return fetchingTrigger.schedule();
     }
 }
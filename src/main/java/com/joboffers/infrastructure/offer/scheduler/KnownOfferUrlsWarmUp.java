@@ -0,0 +1,50 @@
+package com.joboffers.infrastructure.offer.scheduler;
+
+import com.joboffers.domain.offer.OfferFacade;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@Component
+@AllArgsConstructor
+@Log4j2
+public class KnownOfferUrlsWarmUp {
+
+    private static final String OFFER_URL_CANONICALIZATION_LOCK = "offer-url-canonicalization";
+
+    private final OfferFacade offerFacade;
+    private final MongoSchedulerLock schedulerLock;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpKnownOfferUrls() {
+        canonicalizeStoredOfferUrls();
+        try {
+            offerFacade.warmUpKnownOfferUrls();
+        } catch (RuntimeException e) {
+            log.warn("Could not warm up known offer urls, they will be loaded on next fetching: {}", e.getMessage());
+        }
+    }
+
+    private void canonicalizeStoredOfferUrls() {
+        Optional<SchedulerLease> lease = Optional.empty();
+        try {
+            lease = schedulerLock.tryAcquire(OFFER_URL_CANONICALIZATION_LOCK);
+            if (lease.isEmpty()) {
+                log.info("Skipped canonicalizing stored offer urls, another node is canonicalizing them");
+                return;
+            }
+            final int canonicalizedOffers = offerFacade.canonicalizeStoredOfferUrls();
+            if (canonicalizedOffers > 0) {
+                log.info("Canonicalized urls of {} stored offers", canonicalizedOffers);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not canonicalize stored offer urls: {}", e.getMessage());
+        } finally {
+            lease.ifPresent(schedulerLock::release);
+        }
+    }
+}
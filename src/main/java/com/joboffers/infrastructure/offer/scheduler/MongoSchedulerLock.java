@@ -0,0 +1,118 @@
+package com.joboffers.infrastructure.offer.scheduler;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Log4j2
+class MongoSchedulerLock {
+
+    private static final String LOCKS_COLLECTION = "scheduler_locks";
+    private static final String ID_FIELD = "_id";
+    private static final String OWNER_FIELD = "owner";
+    private static final String TOKEN_FIELD = "token";
+    private static final String EXPIRES_AT_FIELD = "expiresAt";
+
+    private final MongoTemplate mongoTemplate;
+    private final Clock clock;
+    private final Duration leaseTime;
+    private final String owner = UUID.randomUUID().toString();
+    private final ScheduledExecutorService renewals = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "scheduler-lease-renewal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    MongoSchedulerLock(MongoTemplate mongoTemplate, Clock clock,
+                       @Value("${http.offers.scheduler.lock.lease-time:PT10M}") Duration leaseTime) {
+        this.mongoTemplate = mongoTemplate;
+        this.clock = clock;
+        this.leaseTime = leaseTime;
+    }
+
+    Optional<SchedulerLease> tryAcquire(String name) {
+        final Instant now = clock.instant();
+        final Query query = Query.query(Criteria.where(ID_FIELD).is(name)
+                .orOperator(
+                        Criteria.where(EXPIRES_AT_FIELD).lte(Date.from(now)),
+                        Criteria.where(OWNER_FIELD).is(owner)));
+        final Update update = new Update()
+                .set(OWNER_FIELD, owner)
+                .set(EXPIRES_AT_FIELD, Date.from(now.plus(leaseTime)))
+                .inc(TOKEN_FIELD, 1L);
+        try {
+            final Document lock = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), Document.class, LOCKS_COLLECTION);
+            if (lock == null) {
+                return Optional.empty();
+            }
+            final SchedulerLease lease = new SchedulerLease(name, lock.get(TOKEN_FIELD, Number.class).longValue(),
+                    now.plus(leaseTime), clock);
+            final long renewalPeriod = Math.max(leaseTime.toMillis() / 3, 1);
+            lease.renewWith(renewals.scheduleAtFixedRate(() -> renew(lease), renewalPeriod, renewalPeriod,
+                    TimeUnit.MILLISECONDS));
+            return Optional.of(lease);
+        } catch (DuplicateKeyException e) {
+            return Optional.empty();
+        }
+    }
+
+    void release(SchedulerLease lease) {
+        lease.stopRenewal();
+        try {
+            mongoTemplate.updateFirst(leaseQuery(lease), Update.update(EXPIRES_AT_FIELD, Date.from(clock.instant())),
+                    LOCKS_COLLECTION);
+        } catch (DataAccessException e) {
+            log.warn("Could not release scheduler lock {}, it will expire on its own: {}", lease.name(), e.getMessage());
+        }
+        lease.lose();
+    }
+
+    void renew(SchedulerLease lease) {
+        final Instant expiresAt = clock.instant().plus(leaseTime);
+        try {
+            final long renewed = mongoTemplate.updateFirst(leaseQuery(lease),
+                    Update.update(EXPIRES_AT_FIELD, Date.from(expiresAt)), LOCKS_COLLECTION).getMatchedCount();
+            if (renewed == 0) {
+                log.warn("Scheduler lock {} with token {} was taken over by another node", lease.name(), lease.token());
+                lease.lose();
+                lease.stopRenewal();
+                return;
+            }
+            lease.extendUntil(expiresAt);
+        } catch (DataAccessException e) {
+            log.warn("Could not renew scheduler lock {}: {}", lease.name(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        renewals.shutdownNow();
+    }
+
+    private Query leaseQuery(SchedulerLease lease) {
+        return Query.query(Criteria.where(ID_FIELD).is(lease.name())
+                .and(OWNER_FIELD).is(owner)
+                .and(TOKEN_FIELD).is(lease.token()));
+    }
+}
@@ -0,0 +1,11 @@
+package com.joboffers.infrastructure.offer.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public record OffersFetchingSchedule(Duration currentDelay,
+                                     Duration minDelay,
+                                     Duration maxDelay,
+                                     int lastAddedOffers,
+                                     Instant nextFetchAt) {
+}
@@ -0,0 +1,51 @@
+package com.joboffers.infrastructure.offer.scheduler;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+
+class SchedulerLease {
+
+    private final String name;
+    private final long token;
+    private final Clock clock;
+    private volatile Instant expiresAt;
+    private volatile ScheduledFuture<?> renewal;
+
+    SchedulerLease(String name, long token, Instant expiresAt, Clock clock) {
+        this.name = name;
+        this.token = token;
+        this.expiresAt = expiresAt;
+        this.clock = clock;
+    }
+
+    String name() {
+        return name;
+    }
+
+    long token() {
+        return token;
+    }
+
+    boolean isHeld() {
+        return clock.instant().isBefore(expiresAt);
+    }
+
+    void extendUntil(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    void lose() {
+        this.expiresAt = Instant.EPOCH;
+    }
+
+    void renewWith(ScheduledFuture<?> renewal) {
+        this.renewal = renewal;
+    }
+
+    void stopRenewal() {
+        if (renewal != null) {
+            renewal.cancel(false);
+        }
+    }
+}
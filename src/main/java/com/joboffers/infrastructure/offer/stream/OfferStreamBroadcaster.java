@@ -0,0 +1,127 @@
+package com.joboffers.infrastructure.offer.stream;
+
+import com.joboffers.domain.offer.OffersSavedListener;
+import com.joboffers.domain.offer.dto.OfferResponseDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+@Component
+@Log4j2
+public class OfferStreamBroadcaster implements OffersSavedListener {
+
+    private static final int MAX_EVENTS_PER_DRAIN = 32;
+
+    private final Set<OfferStreamSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService stalledSendsWatchdog;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final Duration sendTimeout;
+
+    OfferStreamBroadcaster(@Value("${offer.stream.buffer-size:256}") int bufferSize,
+                           @Value("${offer.stream.timeout:PT30M}") Duration timeout,
+                           @Value("${offer.stream.send-timeout:PT10S}") Duration sendTimeout,
+                           @Value("${offer.stream.sender-threads:4}") int senderThreads) {
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.sendTimeout = sendTimeout;
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "offer-stream-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.stalledSendsWatchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "offer-stream-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long checkIntervalMillis = Math.max(sendTimeout.toMillis() / 2, 1);
+        stalledSendsWatchdog.scheduleWithFixedDelay(
+                this::disconnectStalledSubscribers, checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        final OfferStreamSubscriber subscriber = new OfferStreamSubscriber(emitter, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    @Override
+    public void offersSaved(List<OfferResponseDto> savedOffers) {
+        broadcast(savedOffers, OfferStreamSubscriber::enqueue);
+    }
+
+    @Override
+    public void offersUpdated(List<OfferResponseDto> updatedOffers) {
+        broadcast(updatedOffers, OfferStreamSubscriber::enqueueUpdate);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+        stalledSendsWatchdog.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    private void broadcast(List<OfferResponseDto> offers, BiConsumer<OfferStreamSubscriber, OfferResponseDto> enqueue) {
+        for (OfferStreamSubscriber subscriber : subscribers) {
+            offers.forEach(offer -> enqueue.accept(subscriber, offer));
+            if (subscriber.startDraining()) {
+                send(subscriber);
+            }
+        }
+    }
+
+    private void send(OfferStreamSubscriber subscriber) {
+        try {
+            senders.execute(() -> {
+                try {
+                    if (subscriber.drain(MAX_EVENTS_PER_DRAIN)) {
+                        send(subscriber);
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Offers stream subscriber disconnected: {}", e.getMessage());
+                    disconnect(subscriber);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            disconnect(subscriber);
+        }
+    }
+
+    private void disconnectStalledSubscribers() {
+        for (OfferStreamSubscriber subscriber : subscribers) {
+            if (subscriber.abortSendIfStalled(sendTimeout)) {
+                log.warn("Dropping offers stream subscriber whose send has been blocked for more than {}", sendTimeout);
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    private void disconnect(OfferStreamSubscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.emitter().complete();
+    }
+}
@@ -0,0 +1,127 @@
+package com.joboffers.infrastructure.offer.stream;
+
+import com.joboffers.domain.offer.dto.OfferResponseDto;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class OfferStreamSubscriber {
+
+    private static final String OFFER_EVENT_NAME = "offer";
+    private static final String OFFER_UPDATED_EVENT_NAME = "offer-updated";
+    private static final String OFFERS_DROPPED_EVENT_NAME = "offers-dropped";
+    private static final long NOT_SENDING = 0;
+
+    private final SseEmitter emitter;
+    private final BlockingQueue<OfferEvent> buffer;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicInteger droppedOffers = new AtomicInteger();
+    private long sendStartedAt = NOT_SENDING;
+    private Thread sendingThread;
+    private volatile boolean aborted;
+
+    OfferStreamSubscriber(SseEmitter emitter, int bufferSize) {
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    void enqueue(OfferResponseDto offer) {
+        enqueue(new OfferEvent(OFFER_EVENT_NAME, offer));
+    }
+
+    void enqueueUpdate(OfferResponseDto offer) {
+        enqueue(new OfferEvent(OFFER_UPDATED_EVENT_NAME, offer));
+    }
+
+    private void enqueue(OfferEvent event) {
+        while (!buffer.offer(event)) {
+            if (buffer.poll() != null) {
+                droppedOffers.incrementAndGet();
+            }
+        }
+    }
+
+    boolean startDraining() {
+        return draining.compareAndSet(false, true);
+    }
+
+    /**
+     * Interrupts a send which has been blocked on a slow client for longer than {@code sendTimeout}
+     * and marks the subscriber as aborted, so that no further events are sent to it.
+     */
+    synchronized boolean abortSendIfStalled(Duration sendTimeout) {
+        if (sendStartedAt == NOT_SENDING || System.nanoTime() - sendStartedAt <= sendTimeout.toNanos()) {
+            return false;
+        }
+        aborted = true;
+        sendingThread.interrupt();
+        return true;
+    }
+
+    /**
+     * Sends at most {@code maxEvents} buffered events and returns whether the subscriber still holds
+     * the draining flag, i.e. whether the caller has to schedule another drain.
+     */
+    boolean drain(int maxEvents) throws IOException {
+        int sentEvents = 0;
+        do {
+            final int dropped = droppedOffers.getAndSet(0);
+            if (dropped > 0) {
+                send(SseEmitter.event()
+                        .name(OFFERS_DROPPED_EVENT_NAME)
+                        .data(dropped));
+            }
+            OfferEvent event;
+            while (sentEvents < maxEvents && (event = buffer.poll()) != null) {
+                send(SseEmitter.event()
+                        .id(event.offer().id())
+                        .name(event.name())
+                        .data(event.offer()));
+                sentEvents++;
+            }
+            if (sentEvents >= maxEvents) {
+                return true;
+            }
+            draining.set(false);
+        } while ((!buffer.isEmpty() || droppedOffers.get() > 0) && startDraining());
+        return false;
+    }
+
+    private void send(SseEmitter.SseEventBuilder event) throws IOException {
+        startSend();
+        try {
+            emitter.send(event);
+        } finally {
+            finishSend();
+        }
+    }
+
+    private synchronized void startSend() throws IOException {
+        if (aborted) {
+            throw new IOException("Send to offers stream subscriber timed out");
+        }
+        sendStartedAt = System.nanoTime();
+        sendingThread = Thread.currentThread();
+    }
+
+    private synchronized void finishSend() throws IOException {
+        sendStartedAt = NOT_SENDING;
+        sendingThread = null;
+        // clears an interrupt from abortSendIfStalled, so it cannot leak into the next task of the sender thread
+        if (Thread.interrupted() || aborted) {
+            throw new IOException("Send to offers stream subscriber timed out");
+        }
+    }
+
+    private record OfferEvent(String name, OfferResponseDto offer) {
+    }
+}
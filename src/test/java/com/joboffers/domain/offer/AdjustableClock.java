@@ -0,0 +1,35 @@
+package com.joboffers.domain.offer;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+public class AdjustableClock extends Clock {
+
+    private Instant instant;
+
+    public AdjustableClock(Instant instant) {
+        this.instant = instant;
+    }
+
+    public void advanceBy(Duration duration) {
+        instant = instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return this;
+    }
+
+    @Override
+    public Instant instant() {
+        return instant;
+    }
+}
@@ -2,17 +2,24 @@ package com.joboffers.domain.offer;
 
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.query.FluentQuery;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 public class InMemoryOfferRepository implements OfferRepository {
@@ -28,6 +35,91 @@ public class InMemoryOfferRepository implements OfferRepository {
         return count == 1;
     }
 
+    @Override
+    public List<Offer> findOfferFingerprintsByUrlHashIn(Collection<Long> urlHashes) {
+        return offers.values()
+                .stream()
+                .filter(offer -> urlHashes.contains(offer.urlHash()))
+                .map(offer -> Offer.builder()
+                        .id(offer.id())
+                        .offerUrl(offer.offerUrl())
+                        .urlHash(offer.urlHash())
+                        .fingerprint(offer.fingerprint())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public List<Offer> findAllByOrderByIdAsc(Limit limit) {
+        return offers.values()
+                .stream()
+                .sorted(Comparator.comparing(Offer::id))
+                .limit(limit.max())
+                .toList();
+    }
+
+    @Override
+    public List<Offer> findByIdGreaterThanOrderByIdAsc(String id, Limit limit) {
+        return offers.values()
+                .stream()
+                .filter(offer -> offer.id().compareTo(id) > 0)
+                .sorted(Comparator.comparing(Offer::id))
+                .limit(limit.max())
+                .toList();
+    }
+
+    @Override
+    public List<Offer> findByUpdatedAtLessThanEqualOrderByUpdatedAtAscIdAsc(Instant until, Limit limit) {
+        return offers.values()
+                .stream()
+                .filter(offer -> !offer.updatedAt().isAfter(until))
+                .sorted(Comparator.comparing(Offer::updatedAt).thenComparing(Offer::id))
+                .limit(limit.max())
+                .toList();
+    }
+
+    @Override
+    public List<Offer> findChangedAfter(Instant updatedAt, String id, Instant until, Pageable pageable) {
+        return offers.values()
+                .stream()
+                .filter(offer -> !offer.updatedAt().isAfter(until))
+                .filter(offer -> offer.updatedAt().isAfter(updatedAt)
+                        || offer.updatedAt().equals(updatedAt) && offer.id().compareTo(id) > 0)
+                .sorted(Comparator.comparing(Offer::updatedAt).thenComparing(Offer::id))
+                .limit(pageable.getPageSize())
+                .toList();
+    }
+
+    @Override
+    public Stream<Offer> streamAllBy() {
+        return offers.values().stream();
+    }
+
+    @Override
+    public List<Offer> findMinHashesByBandIn(Collection<Long> minHashBands, Pageable pageable) {
+        return offers.values()
+                .stream()
+                .filter(offer -> offer.minHashBands() != null)
+                .filter(offer -> offer.minHashBands().stream().anyMatch(minHashBands::contains))
+                .sorted(Comparator.comparing(Offer::updatedAt, Comparator.nullsLast(Comparator.reverseOrder())))
+                .limit(pageable.getPageSize())
+                .map(offer -> Offer.builder()
+                        .id(offer.id())
+                        .minHash(offer.minHash())
+                        .minHashBands(offer.minHashBands())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public Stream<Offer> streamWithoutUrlHash() {
+        return offers.values()
+                .stream()
+                .filter(offer -> offer.urlHash() == null)
+                .toList()
+                .stream();
+    }
+
     @Override
     public Optional<Offer> findById(String id) {
         return Optional.ofNullable(offers.get(id));
@@ -40,17 +132,13 @@ public class InMemoryOfferRepository implements OfferRepository {
 
     @Override
     public <S extends Offer> S save(S entity) {
-        if (offers.values().stream().anyMatch(offer -> offer.offerUrl().equals(entity.offerUrl()))) {
+        if (offers.values().stream().anyMatch(offer -> isSameUrl(offer, entity))) {
             throw new DuplicateKeyException(String.format("Offer with offerUrl [%s] already exists", entity.offerUrl()));
         }
         UUID id = UUID.randomUUID();
-        Offer offer = new Offer(
-                id.toString(),
-                entity.companyName(),
-                entity.position(),
-                entity.salary(),
-                entity.offerUrl()
-        );
+        Offer offer = entity.toBuilder()
+                .id(id.toString())
+                .build();
         offers.put(id.toString(), offer);
         return (S) offer;
     }
@@ -63,6 +151,49 @@ public class InMemoryOfferRepository implements OfferRepository {
                 .toList();
     }
 
+    @Override
+    public OfferBulkInsertResult insertAllSkippingDuplicates(List<Offer> offers) {
+        final List<Offer> insertedOffers = new ArrayList<>();
+        int skippedDuplicates = 0;
+        for (Offer offer : offers) {
+            try {
+                insertedOffers.add(save(offer));
+            } catch (DuplicateKeyException e) {
+                skippedDuplicates++;
+            }
+        }
+        return new OfferBulkInsertResult(insertedOffers, skippedDuplicates);
+    }
+
+    @Override
+    public List<Offer> updateAllChanged(List<Offer> offers) {
+        final List<Offer> updatedOffers = new ArrayList<>();
+        for (Offer offer : offers) {
+            final Offer existingOffer = this.offers.get(offer.id());
+            if (existingOffer != null && !Objects.equals(existingOffer.fingerprint(), offer.fingerprint())) {
+                this.offers.put(offer.id(), offer);
+                updatedOffers.add(offer);
+            }
+        }
+        return updatedOffers;
+    }
+
+    @Override
+    public int assignCanonicalUrls(List<Offer> offers) {
+        int canonicalizedOffers = 0;
+        for (Offer offer : offers) {
+            if (this.offers.values().stream().noneMatch(stored -> isSameUrl(stored, offer))) {
+                this.offers.computeIfPresent(offer.id(), (id, stored) -> stored.toBuilder()
+                        .offerUrl(offer.offerUrl())
+                        .urlHash(offer.urlHash())
+                        .updatedAt(offer.updatedAt())
+                        .build());
+                canonicalizedOffers++;
+            }
+        }
+        return canonicalizedOffers;
+    }
+
     @Override
     public List<Offer> findAll() {
         return offers.values().stream().toList();
@@ -157,4 +288,10 @@ public class InMemoryOfferRepository implements OfferRepository {
     public <S extends Offer, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
         return null;
     }
+
+    private static boolean isSameUrl(Offer storedOffer, Offer offer) {
+        return offer.urlHash() == null
+                ? storedOffer.offerUrl().equals(offer.offerUrl())
+                : offer.urlHash().equals(storedOffer.urlHash());
+    }
 }
@@ -0,0 +1,65 @@
+package com.joboffers.domain.offer;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KnownOfferUrlsTest {
+
+    private static final String KNOWN_URL = "https://offers.example/known";
+    private static final String UNKNOWN_URL = "https://offers.example/unknown";
+
+    private final AdjustableClock clock = new AdjustableClock(Instant.parse("2024-01-01T10:00:00Z"));
+    private final InMemoryOfferUrlFilterStore filterStore = new InMemoryOfferUrlFilterStore();
+
+    @Test
+    public void should_restore_known_urls_from_snapshot_saved_by_other_node() {
+        //given
+        InMemoryOfferRepository repository = new InMemoryOfferRepository();
+        repository.save(Offer.builder().offerUrl(KNOWN_URL).updatedAt(clock.instant()).build());
+        knownOfferUrls(repository).refresh();
+        KnownOfferUrls otherNode = knownOfferUrls(new InMemoryOfferRepository());
+        //when
+        otherNode.warmUp();
+        //then
+        assertThat(otherNode.retainMaybeKnown(List.of(KNOWN_URL, UNKNOWN_URL))).containsExactly(KNOWN_URL);
+    }
+
+    @Test
+    public void should_rebuild_from_repository_when_snapshot_has_other_format_version() {
+        //given
+        InMemoryOfferRepository repository = new InMemoryOfferRepository();
+        repository.save(Offer.builder().offerUrl(KNOWN_URL).updatedAt(clock.instant()).build());
+        filterStore.save(ByteBuffer.allocate(Integer.BYTES).putInt(-1).array());
+        KnownOfferUrls knownOfferUrls = knownOfferUrls(repository);
+        //when
+        knownOfferUrls.refresh();
+        //then
+        assertThat(knownOfferUrls.retainMaybeKnown(List.of(KNOWN_URL, UNKNOWN_URL))).containsExactly(KNOWN_URL);
+        assertThat(ByteBuffer.wrap(filterStore.load().orElseThrow()).getInt()).isNotEqualTo(-1);
+    }
+
+    @Test
+    public void should_not_save_snapshot_again_when_nothing_new_was_indexed() {
+        //given
+        InMemoryOfferRepository repository = new InMemoryOfferRepository();
+        repository.save(Offer.builder().offerUrl(KNOWN_URL).updatedAt(clock.instant()).build());
+        KnownOfferUrls knownOfferUrls = knownOfferUrls(repository);
+        knownOfferUrls.refresh();
+        byte[] savedSnapshot = filterStore.load().orElseThrow();
+        //when
+        knownOfferUrls.offersSaved(List.of(OfferMapper.mapFromOfferToOfferResponseDto(
+                Offer.builder().offerUrl(KNOWN_URL).updatedAt(clock.instant()).build())));
+        knownOfferUrls.refresh();
+        //then
+        assertThat(filterStore.load()).containsSame(savedSnapshot);
+    }
+
+    private KnownOfferUrls knownOfferUrls(InMemoryOfferRepository repository) {
+        return new KnownOfferUrls(repository, filterStore, clock, 100, 0.01);
+    }
+}
@@ -1,13 +1,21 @@
 package com.joboffers.domain.offer;
 
 import com.joboffers.domain.offer.dto.JobOfferResponseDto;
+import com.joboffers.domain.offer.dto.OfferPageResponseDto;
 import com.joboffers.domain.offer.dto.OfferRequestDto;
 import com.joboffers.domain.offer.dto.OfferResponseDto;
 import org.assertj.core.api.AssertionsForClassTypes;
-import org.junit.Test;
+import org.junit.jupiter.api.Test;
 import org.springframework.dao.DuplicateKeyException;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
@@ -52,6 +60,210 @@ public class OfferFacadeTest {
         ).containsExactlyInAnyOrder("https://someurl.pl/5", "https://someother.pl/6");
     }
 
+    @Test
+    public void should_save_offer_once_when_remote_returns_same_offer_url_twice() {
+        //given
+        OfferFacade offerFacade = new OfferFacadeTestsConfig(List.of(
+                new JobOfferResponseDto("aaa", "developer", "100", "https://someurl.pl/1"),
+                new JobOfferResponseDto("aaa", "developer", "100", "https://someurl.pl/1"),
+                new JobOfferResponseDto("bbb", "junior developer", "200", "https://someurl.pl/2")
+        )
+        ).createFacadeForTests();
+        //when
+        List<OfferResponseDto> result = offerFacade.fetchAllOffersAndSaveAllIfNotExists();
+        //then
+        assertThat(result).extracting(OfferResponseDto::offerUrl)
+                .containsExactly("https://someurl.pl/1", "https://someurl.pl/2");
+    }
+
+    @Test
+    public void should_save_offer_once_when_remote_returns_its_url_with_tracking_parameters_trailing_slash_or_host_case() {
+        //given
+        OfferFacade offerFacade = new OfferFacadeTestsConfig(List.of(
+                new JobOfferResponseDto("developer", "Comarch", "1000", "https://someurl.pl/offers/1?b=2&a=1"),
+                new JobOfferResponseDto("developer", "Comarch", "1000", "HTTPS://SomeUrl.pl:443/offers/1/?a=1&utm_source=x&b=2#apply"),
+                new JobOfferResponseDto("tester", "Finanteq", "1500", "https://someurl.pl/offers/2")
+        )).createFacadeForTests();
+        offerFacade.saveOffer(new OfferRequestDto("Finanteq", "tester", "1500", "https://someurl.pl/offers/2/?fbclid=abc"));
+        //when
+        List<OfferResponseDto> result = offerFacade.fetchAllOffersAndSaveAllIfNotExists();
+        //then
+        assertThat(result).extracting(OfferResponseDto::offerUrl)
+                .containsExactly("https://someurl.pl/offers/1?a=1&b=2");
+        assertThat(offerFacade.findAllOffers()).hasSize(2);
+    }
+
+    @Test
+    public void should_not_save_near_duplicate_offers_published_under_different_urls() {
+        //given
+        OfferFacade offerFacade = new OfferFacadeTestsConfig(List.of(
+                new JobOfferResponseDto("Java developer", "Comarch S.A.", "10000-15000 PLN", "https://otherboard.pl/job/1"),
+                new JobOfferResponseDto("Java Developer", "COMARCH", "10 000 - 15 000 PLN", "https://thirdboard.pl/j/abc"),
+                new JobOfferResponseDto("Python Developer", "Comarch", "10000 - 15000 PLN", "https://otherboard.pl/job/2"),
+                new JobOfferResponseDto("Java Developer", "Comarch", "12000 - 18000 PLN", "https://otherboard.pl/job/3")
+        )).createFacadeForTests();
+        offerFacade.saveOffer(new OfferRequestDto("Comarch", "Java Developer", "10000 - 15000 PLN", "https://someurl.pl/1"));
+        //when
+        List<OfferResponseDto> result = offerFacade.fetchAllOffersAndSaveAllIfNotExists();
+        //then
+        assertThat(result).extracting(OfferResponseDto::offerUrl)
+                .containsExactlyInAnyOrder("https://otherboard.pl/job/2", "https://otherboard.pl/job/3");
+    }
+
+    @Test
+    public void should_not_save_offer_fetched_by_node_which_warmed_up_before_other_node_saved_it() {
+        //given
+        OfferFacadeTestsConfig config = new OfferFacadeTestsConfig(List.of(
+                new JobOfferResponseDto("aaa", "developer", "100", "https://someurl.pl/1"),
+                new JobOfferResponseDto("bbb", "junior developer", "200", "https://someurl.pl/2")
+        ));
+        OfferFacade firstNode = config.createFacadeForTests();
+        OfferFacade secondNode = config.createFacadeForTests();
+        firstNode.warmUpKnownOfferUrls();
+        config.clock().advanceBy(Duration.ofMinutes(1));
+        secondNode.saveOffer(new OfferRequestDto("company", "position", "1000", "https://someurl.pl/1"));
+        //when
+        List<OfferResponseDto> result = firstNode.fetchAllOffersAndSaveAllIfNotExists();
+        //then
+        assertThat(result).extracting(OfferResponseDto::offerUrl)
+                .containsExactly("https://someurl.pl/2");
+    }
+
+    @Test
+    public void should_skip_offer_which_other_node_saved_without_failing_whole_fetching() {
+        //given
+        OfferFacadeTestsConfig config = new OfferFacadeTestsConfig(List.of(
+                new JobOfferResponseDto("aaa", "developer", "100", "https://someurl.pl/1"),
+                new JobOfferResponseDto("bbb", "junior developer", "200", "https://someurl.pl/2")
+        ));
+        OfferFacade firstNode = config.createFacadeForTests();
+        OfferFacade secondNode = config.createFacadeForTests();
+        firstNode.warmUpKnownOfferUrls();
+        config.clock().advanceBy(Duration.ofHours(-1));
+        secondNode.saveOffer(new OfferRequestDto("company", "position", "1000", "https://someurl.pl/1"));
+        config.clock().advanceBy(Duration.ofHours(1));
+        //when
+        List<OfferResponseDto> result = firstNode.fetchAllOffersAndSaveAllIfNotExists();
+        //then
+        assertThat(result).extracting(OfferResponseDto::offerUrl)
+                .containsExactly("https://someurl.pl/2");
+    }
+
+    @Test
+    public void should_not_save_fetched_offers_when_ingestion_lease_is_no_longer_held() {
+        //given
+        OfferFacadeTestsConfig config = new OfferFacadeTestsConfig();
+        OfferFacade offerFacade = config.createFacadeForTests();
+        //when
+        List<OfferResponseDto> result = offerFacade.fetchAllOffersAndSaveAllIfNotExists(() -> false);
+        //then
+        assertThat(result).isEmpty();
+        assertThat(offerFacade.findAllOffers()).isEmpty();
+    }
+
+    @Test
+    public void should_save_every_fetched_offer_once_when_ingestion_stages_run_on_several_threads() {
+        //given
+        List<JobOfferResponseDto> remoteOffers = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            remoteOffers.add(new JobOfferResponseDto("title" + i, "company", "100", "https://someurl.pl/" + i % 150));
+        }
+        OfferIngestionProperties.Stage parallelStage = new OfferIngestionProperties.Stage(3, 1);
+        OfferFacade offerFacade = new OfferFacadeTestsConfig(remoteOffers).createFacadeForTests(List.of(),
+                new OfferIngestionProperties.Stages(parallelStage, parallelStage, parallelStage, parallelStage));
+        //when
+        List<OfferResponseDto> result = offerFacade.fetchAllOffersAndSaveAllIfNotExists();
+        //then
+        assertThat(result).extracting(OfferResponseDto::offerUrl).doesNotHaveDuplicates().hasSize(150);
+        assertThat(offerFacade.findAllOffers()).hasSize(150);
+    }
+
+    @Test
+    public void should_notify_listeners_about_chunks_persisted_before_ingestion_failed() {
+        //given
+        List<JobOfferResponseDto> firstChunk = List.of(
+                new JobOfferResponseDto("aaa", "developer", "100", "1"),
+                new JobOfferResponseDto("bbb", "junior developer", "200", "2"));
+        List<OfferResponseDto> notifiedOffers = new CopyOnWriteArrayList<>();
+        CountDownLatch firstChunkPersisted = new CountDownLatch(1);
+        InMemoryFetcherTestImpl failingFetcher = new InMemoryFetcherTestImpl(firstChunk) {
+            @Override
+            public void fetchOffers(int chunkSize, OffersChunkHandler chunkHandler) {
+                chunkHandler.handle(firstChunk);
+                try {
+                    firstChunkPersisted.await(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("upstream connection reset");
+            }
+        };
+        OfferFacade offerFacade = new OfferFacadeTestsConfig(failingFetcher, new InMemoryOfferRepository())
+                .createFacadeForTests(List.of(savedOffers -> {
+                    notifiedOffers.addAll(savedOffers);
+                    firstChunkPersisted.countDown();
+                }));
+        //when
+        Throwable thrown = catchThrowable(offerFacade::fetchAllOffersAndSaveAllIfNotExists);
+        //then
+        assertThat(thrown).isInstanceOf(IllegalStateException.class);
+        assertThat(notifiedOffers).extracting(OfferResponseDto::offerUrl).containsExactlyInAnyOrder("1", "2");
+        assertThat(offerFacade.offersVersion().counter()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_notify_listeners_about_offers_inserted_before_bulk_insert_failed() {
+        //given
+        InMemoryOfferRepository failingRepository = new InMemoryOfferRepository() {
+            @Override
+            public OfferBulkInsertResult insertAllSkippingDuplicates(List<Offer> offers) {
+                List<Offer> insertedOffers = super.insertAllSkippingDuplicates(offers.subList(0, 1)).insertedOffers();
+                throw new OfferBulkInsertException(insertedOffers, new IllegalStateException("write conflict"));
+            }
+        };
+        List<OfferResponseDto> notifiedOffers = new ArrayList<>();
+        OfferFacade offerFacade = new OfferFacadeTestsConfig(new InMemoryFetcherTestImpl(List.of(
+                new JobOfferResponseDto("aaa", "developer", "100", "1"),
+                new JobOfferResponseDto("bbb", "junior developer", "200", "2"))), failingRepository)
+                .createFacadeForTests(List.of(notifiedOffers::addAll));
+        //when
+        Throwable thrown = catchThrowable(offerFacade::fetchAllOffersAndSaveAllIfNotExists);
+        //then
+        assertThat(thrown).isInstanceOf(OfferBulkInsertException.class);
+        assertThat(notifiedOffers).extracting(OfferResponseDto::offerUrl).containsExactly("1");
+    }
+
+    @Test
+    public void should_confirm_fetched_offers_only_after_ingestion_succeeded() {
+        //given
+        AtomicInteger confirmations = new AtomicInteger();
+        AtomicBoolean failFetch = new AtomicBoolean(true);
+        InMemoryFetcherTestImpl fetcher = new InMemoryFetcherTestImpl(List.of(
+                new JobOfferResponseDto("aaa", "developer", "100", "1"))) {
+            @Override
+            public void fetchOffers(int chunkSize, OffersChunkHandler chunkHandler) {
+                super.fetchOffers(chunkSize, chunkHandler);
+                if (failFetch.get()) {
+                    throw new IllegalStateException("upstream connection reset");
+                }
+            }
+
+            @Override
+            public void confirmFetched() {
+                confirmations.incrementAndGet();
+            }
+        };
+        OfferFacade offerFacade = new OfferFacadeTestsConfig(fetcher, new InMemoryOfferRepository()).createFacadeForTests();
+        //when
+        catchThrowable(offerFacade::fetchAllOffersAndSaveAllIfNotExists);
+        int confirmationsAfterFailure = confirmations.get();
+        failFetch.set(false);
+        offerFacade.fetchAllOffersAndSaveAllIfNotExists();
+        //then
+        assertThat(confirmationsAfterFailure).isZero();
+        assertThat(confirmations).hasValue(1);
+    }
+
     @Test
     public void should_save_4_offers_when_there_are_no_offers_in_database() {
         //given
@@ -112,4 +324,204 @@ public class OfferFacadeTest {
                 .isInstanceOf(DuplicateKeyException.class)
                 .hasMessage("Offer with offerUrl 1 already exists");
     }
+
+    @Test
+    public void should_return_all_offers_page_by_page_when_following_next_cursor() {
+        //given
+        OfferFacade offerFacade = new OfferFacadeTestsConfig(List.of()).createFacadeForTests();
+        offerFacade.saveOffer(new OfferRequestDto("company", "position", "1000", "1"));
+        offerFacade.saveOffer(new OfferRequestDto("company", "position", "1000", "2"));
+        offerFacade.saveOffer(new OfferRequestDto("company", "position", "1000", "3"));
+        offerFacade.saveOffer(new OfferRequestDto("company", "position", "1000", "4"));
+        offerFacade.saveOffer(new OfferRequestDto("company", "position", "1000", "5"));
+        //when
+        OfferPageResponseDto firstPage = offerFacade.findOffersPage(2, null);
+        OfferPageResponseDto secondPage = offerFacade.findOffersPage(2, firstPage.next());
+        OfferPageResponseDto lastPage = offerFacade.findOffersPage(2, secondPage.next());
+        //then
+        assertThat(firstPage.offers()).hasSize(2);
+        assertThat(secondPage.offers()).hasSize(2);
+        assertThat(lastPage.offers()).hasSize(1);
+        assertThat(lastPage.next()).isNull();
+        assertThat(List.of(firstPage, secondPage, lastPage).stream()
+                .flatMap(page -> page.offers().stream())
+                .map(OfferResponseDto::offerUrl)
+                .toList()
+        ).containsExactlyInAnyOrder("1", "2", "3", "4", "5");
+    }
+
+    @Test
+    public void should_throw_invalid_cursor_exception_when_cursor_is_malformed() {
+        //given
+        OfferFacade offerFacade = new OfferFacadeTestsConfig(List.of()).createFacadeForTests();
+        //when
+        Throwable thrown = catchThrowable(() -> offerFacade.findOffersPage(10, "%%%"));
+        //then
+        AssertionsForClassTypes.assertThat(thrown)
+                .isInstanceOf(InvalidOfferCursorException.class)
+                .hasMessage("Offers cursor %%% is not valid");
+    }
+
+    @Test
+    public void should_stream_all_saved_offers_to_consumer() {
+        //given
+        OfferFacade offerFacade = new OfferFacadeTestsConfig(List.of()).createFacadeForTests();
+        offerFacade.saveOffer(new OfferRequestDto("company", "position", "1000", "1"));
+        offerFacade.saveOffer(new OfferRequestDto("company", "position", "1000", "2"));
+        offerFacade.saveOffer(new OfferRequestDto("company", "position", "1000", "3"));
+        List<OfferResponseDto> streamed = new ArrayList<>();
+        //when
+        offerFacade.streamAllOffers(streamed::add);
+        //then
+        assertThat(streamed)
+                .extracting(OfferResponseDto::offerUrl)
+                .containsExactlyInAnyOrder("1", "2", "3");
+    }
+
+    @Test
+    public void should_notify_listeners_about_offers_saved_by_user_and_by_fetching() {
+        //given
+        List<OfferResponseDto> notifiedOffers = new ArrayList<>();
+        OfferFacade offerFacade = new OfferFacadeTestsConfig(List.of(
+                new JobOfferResponseDto("new1", "Comarch", "1000", "https://someurl.pl/5")
+        )).createFacadeForTests(List.of(notifiedOffers::addAll));
+        //when
+        offerFacade.saveOffer(new OfferRequestDto("company", "position", "1000", "1"));
+        offerFacade.fetchAllOffersAndSaveAllIfNotExists();
+        //then
+        assertThat(notifiedOffers)
+                .extracting(OfferResponseDto::offerUrl)
+                .containsExactly("1", "https://someurl.pl/5");
+    }
+
+    @Test
+    public void should_update_only_existing_offers_whose_content_changed_upstream() {
+        //given
+        List<OfferResponseDto> notifiedOffers = new ArrayList<>();
+        OfferFacade offerFacade = new OfferFacadeTestsConfig(List.of(
+                new JobOfferResponseDto("developer", "Comarch", "2000", "https://someurl.pl/1"),
+                new JobOfferResponseDto("tester", "Finanteq", "1500", "https://someurl.pl/2"),
+                new JobOfferResponseDto("analyst", "Asseco", "3000", "https://someurl.pl/3")
+        )).createFacadeForTests(List.of(notifiedOffers::addAll));
+        OfferResponseDto changedOffer = offerFacade.saveOffer(
+                new OfferRequestDto("Comarch", "developer", "1000", "https://someurl.pl/1"));
+        offerFacade.saveOffer(new OfferRequestDto("Finanteq", "tester", "1500", "https://someurl.pl/2"));
+        notifiedOffers.clear();
+        //when
+        List<OfferResponseDto> result = offerFacade.fetchAllOffersAndSaveAllIfNotExists();
+        //then
+        assertThat(result).extracting(OfferResponseDto::offerUrl)
+                .containsExactly("https://someurl.pl/3");
+        assertThat(notifiedOffers).extracting(OfferResponseDto::offerUrl)
+                .containsExactlyInAnyOrder("https://someurl.pl/1", "https://someurl.pl/3");
+        assertThat(offerFacade.findOfferById(changedOffer.id()).salary()).isEqualTo("2000");
+        assertThat(offerFacade.findAllOffers()).hasSize(3);
+    }
+
+    @Test
+    public void should_notify_listeners_about_updated_offers_separately_from_new_ones() {
+        //given
+        List<OfferResponseDto> savedOffers = new ArrayList<>();
+        List<OfferResponseDto> updatedOffers = new ArrayList<>();
+        OfferFacade offerFacade = new OfferFacadeTestsConfig(List.of(
+                new JobOfferResponseDto("developer", "Comarch", "2000", "https://someurl.pl/1"),
+                new JobOfferResponseDto("analyst", "Asseco", "3000", "https://someurl.pl/3")
+        )).createFacadeForTests(List.of(new OffersSavedListener() {
+            @Override
+            public void offersSaved(List<OfferResponseDto> offers) {
+                savedOffers.addAll(offers);
+            }
+
+            @Override
+            public void offersUpdated(List<OfferResponseDto> offers) {
+                updatedOffers.addAll(offers);
+            }
+        }));
+        offerFacade.saveOffer(new OfferRequestDto("Comarch", "developer", "1000", "https://someurl.pl/1"));
+        savedOffers.clear();
+        //when
+        offerFacade.fetchAllOffersAndSaveAllIfNotExists();
+        //then
+        assertThat(savedOffers).extracting(OfferResponseDto::offerUrl)
+                .containsExactly("https://someurl.pl/3");
+        assertThat(updatedOffers).extracting(OfferResponseDto::offerUrl)
+                .containsExactly("https://someurl.pl/1");
+    }
+
+    @Test
+    public void should_update_stored_offer_whose_url_was_canonicalized_after_known_urls_warmed_up() {
+        //given
+        InMemoryOfferRepository offerRepository = new InMemoryOfferRepository();
+        OfferFacadeTestsConfig config = new OfferFacadeTestsConfig(new InMemoryFetcherTestImpl(List.of(
+                new JobOfferResponseDto("developer", "Comarch", "2000", "https://someurl.pl/1")
+        )), offerRepository);
+        OfferFacade offerFacade = config.createFacadeForTests();
+        Offer legacyOffer = offerRepository.save(Offer.builder()
+                .companyName("Comarch")
+                .position("developer")
+                .salary("1000")
+                .offerUrl("https://SOMEURL.pl/1/?utm_source=newsletter")
+                .updatedAt(config.clock().instant().minus(Duration.ofHours(1)))
+                .build());
+        offerFacade.warmUpKnownOfferUrls();
+        config.clock().advanceBy(Duration.ofMinutes(1));
+        offerFacade.canonicalizeStoredOfferUrls();
+        //when
+        List<OfferResponseDto> result = offerFacade.fetchAllOffersAndSaveAllIfNotExists();
+        //then
+        assertThat(result).isEmpty();
+        assertThat(offerFacade.findOfferById(legacyOffer.id()).salary()).isEqualTo("2000");
+        assertThat(offerFacade.findAllOffers()).hasSize(1);
+    }
+
+    @Test
+    public void should_throw_not_found_exception_without_stack_trace() {
+        //given
+        OfferFacade offerFacade = new OfferFacadeTestsConfig(List.of()).createFacadeForTests();
+        //when
+        Throwable thrown = catchThrowable(() -> offerFacade.findOfferById("100"));
+        //then
+        assertThat(thrown).isInstanceOf(OfferNotFoundException.class);
+        assertThat(thrown.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    public void should_increment_offers_version_only_when_offers_were_saved() {
+        //given
+        OfferFacade offerFacade = new OfferFacadeTestsConfig(List.of()).createFacadeForTests();
+        long initialVersion = offerFacade.offersVersion().counter();
+        //when
+        offerFacade.fetchAllOffersAndSaveAllIfNotExists();
+        long versionAfterEmptyFetch = offerFacade.offersVersion().counter();
+        offerFacade.saveOffer(new OfferRequestDto("company", "position", "1000", "1"));
+        //then
+        assertThat(versionAfterEmptyFetch).isEqualTo(initialVersion);
+        assertThat(offerFacade.offersVersion().counter()).isGreaterThan(initialVersion);
+    }
+
+    @Test
+    public void should_return_only_offers_changed_since_cursor_once_they_settled() {
+        //given
+        OfferFacadeTestsConfig config = new OfferFacadeTestsConfig(List.of(
+                new JobOfferResponseDto("new1", "Comarch", "1000", "https://someurl.pl/5"),
+                new JobOfferResponseDto("new2", "Finanteq", "2000", "https://someother.pl/6")
+        ));
+        OfferFacade offerFacade = config.createFacadeForTests();
+        offerFacade.saveOffer(new OfferRequestDto("company", "position", "1000", "1"));
+        assertThat(offerFacade.findOfferChanges(10, null).offers()).isEmpty();
+        config.clock().advanceBy(Duration.ofMinutes(1));
+        OfferPageResponseDto firstSync = offerFacade.findOfferChanges(10, null);
+        //when
+        offerFacade.fetchAllOffersAndSaveAllIfNotExists();
+        config.clock().advanceBy(Duration.ofMinutes(1));
+        OfferPageResponseDto secondSync = offerFacade.findOfferChanges(1, firstSync.next());
+        OfferPageResponseDto thirdSync = offerFacade.findOfferChanges(1, secondSync.next());
+        OfferPageResponseDto emptySync = offerFacade.findOfferChanges(1, thirdSync.next());
+        //then
+        assertThat(firstSync.offers()).extracting(OfferResponseDto::offerUrl).containsExactly("1");
+        assertThat(List.of(secondSync.offers().get(0).offerUrl(), thirdSync.offers().get(0).offerUrl()))
+                .containsExactlyInAnyOrder("https://someurl.pl/5", "https://someother.pl/6");
+        assertThat(emptySync.offers()).isEmpty();
+        assertThat(emptySync.next()).isEqualTo(thirdSync.next());
+    }
 }
\ No newline at end of file
@@ -3,13 +3,18 @@ package com.joboffers.domain.offer;
 import com.joboffers.domain.offer.dto.JobOfferResponseDto;
 import lombok.AllArgsConstructor;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.stream.Stream;
 
 @AllArgsConstructor
 public class OfferFacadeTestsConfig {
 
+    private static final OfferIngestionProperties.Stage SINGLE_THREAD_STAGE = new OfferIngestionProperties.Stage(1, 2);
+
     private final InMemoryFetcherTestImpl inMemoryFetcherTest;
     private final InMemoryOfferRepository offerRepository;
+    private final AdjustableClock clock = new AdjustableClock(Instant.parse("2024-01-01T10:00:00Z"));
 
     OfferFacadeTestsConfig() {
         this.inMemoryFetcherTest = new InMemoryFetcherTestImpl(
@@ -31,6 +36,25 @@ public class OfferFacadeTestsConfig {
     }
 
     OfferFacade createFacadeForTests() {
-        return new OfferFacade(offerRepository, new OfferService(inMemoryFetcherTest, offerRepository));
+        return createFacadeForTests(List.of());
+    }
+
+    OfferFacade createFacadeForTests(List<OffersSavedListener> offersSavedListeners) {
+        return createFacadeForTests(offersSavedListeners, new OfferIngestionProperties.Stages(SINGLE_THREAD_STAGE,
+                SINGLE_THREAD_STAGE, SINGLE_THREAD_STAGE, SINGLE_THREAD_STAGE));
+    }
+
+    OfferFacade createFacadeForTests(List<OffersSavedListener> offersSavedListeners, OfferIngestionProperties.Stages stages) {
+        KnownOfferUrls knownOfferUrls = new KnownOfferUrls(offerRepository, new InMemoryOfferUrlFilterStore(), clock,
+                100, 0.01);
+        List<OffersSavedListener> listeners = Stream.concat(Stream.of(knownOfferUrls), offersSavedListeners.stream())
+                .toList();
+        return new OfferFacade(offerRepository, new OfferService(inMemoryFetcherTest, offerRepository, clock, knownOfferUrls, 2, 0.85,
+                new OfferIngestionPipeline(stages)),
+                listeners, new InMemoryOffersVersionCounter(), clock);
+    }
+
+    AdjustableClock clock() {
+        return clock;
     }
 }
@@ -0,0 +1,109 @@
+package com.joboffers.domain.offer;
+
+import com.joboffers.domain.offer.dto.JobOfferResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class OfferIngestionPipelineTest {
+
+    private static final OfferIngestionProperties.Stage PARALLEL_STAGE = new OfferIngestionProperties.Stage(2, 1);
+
+    private final OfferIngestionPipeline pipeline = new OfferIngestionPipeline(
+            new OfferIngestionProperties.Stages(PARALLEL_STAGE, PARALLEL_STAGE, PARALLEL_STAGE, PARALLEL_STAGE));
+
+    @AfterEach
+    public void shutDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    public void should_report_new_offers_for_each_chunk_separately() {
+        //given
+        List<List<JobOfferResponseDto>> chunks = IntStream.range(0, 20)
+                .mapToObj(i -> List.of(jobOffer(i % 2 == 0 ? "new-" + i : "known-" + i)))
+                .toList();
+        List<CompletableFuture<Boolean>> handledChunks = Collections.synchronizedList(new ArrayList<>());
+        //when
+        List<Offer> savedOffers = pipeline.run(chunked(chunks, handledChunks), 1, () -> true,
+                this::map,
+                Function.identity(),
+                offers -> offers.stream().filter(offer -> offer.offerUrl().contains("new-")).toList(),
+                Function.identity());
+        //then
+        assertThat(savedOffers).hasSize(10);
+        assertThat(handledChunks).hasSize(20);
+        for (int i = 0; i < handledChunks.size(); i++) {
+            assertThat(handledChunks.get(i).join()).isEqualTo(i % 2 == 0);
+        }
+    }
+
+    @Test
+    public void should_not_hand_chunks_over_once_lease_is_no_longer_held() {
+        //given
+        List<CompletableFuture<Boolean>> handledChunks = Collections.synchronizedList(new ArrayList<>());
+        //when
+        List<Offer> savedOffers = pipeline.run(chunked(List.of(List.of(jobOffer("new-1"))), handledChunks), 1,
+                () -> false,
+                this::map,
+                Function.identity(),
+                Function.identity(),
+                Function.identity());
+        //then
+        assertThat(savedOffers).isEmpty();
+        assertThat(handledChunks).singleElement().satisfies(handled -> assertThat(handled.join()).isFalse());
+    }
+
+    @Test
+    public void should_fail_run_and_pending_chunks_when_stage_throws_error() {
+        //given
+        List<CompletableFuture<Boolean>> handledChunks = Collections.synchronizedList(new ArrayList<>());
+        List<List<JobOfferResponseDto>> chunks = IntStream.range(0, 20)
+                .mapToObj(i -> List.of(jobOffer("new-" + i)))
+                .toList();
+        //when
+        Throwable thrown = catchThrowable(() -> pipeline.run(chunked(chunks, handledChunks), 1, () -> true,
+                this::map,
+                offers -> {
+                    throw new OutOfMemoryError("chunk too large");
+                },
+                Function.identity(),
+                Function.identity()));
+        //then
+        assertThat(thrown).isInstanceOf(OutOfMemoryError.class);
+        assertThat(handledChunks).allSatisfy(handled -> assertThat(handled).isCompletedExceptionally());
+    }
+
+    private OfferFetchable chunked(List<List<JobOfferResponseDto>> chunks, List<CompletableFuture<Boolean>> handledChunks) {
+        return new OfferFetchable() {
+            @Override
+            public List<JobOfferResponseDto> fetchOffers() {
+                return chunks.stream().flatMap(List::stream).toList();
+            }
+
+            @Override
+            public void fetchOffers(int chunkSize, OffersChunkHandler chunkHandler) {
+                chunks.forEach(chunk -> handledChunks.add(chunkHandler.handle(chunk)));
+            }
+        };
+    }
+
+    private List<Offer> map(List<JobOfferResponseDto> jobOffers) {
+        return jobOffers.stream()
+                .map(OfferMapper::mapFromJobOfferResponseToOffer)
+                .toList();
+    }
+
+    private static JobOfferResponseDto jobOffer(String path) {
+        return new JobOfferResponseDto("title", "company", "100", "https://offers.example/" + path);
+    }
+}
@@ -0,0 +1,99 @@
+package com.joboffers.domain.offer;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class OfferUrlBloomFilterTest {
+
+    private static final int EXPECTED_INSERTIONS = 1000;
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    @Test
+    public void should_contain_every_url_put_into_filter() {
+        //given
+        OfferUrlBloomFilter filter = OfferUrlBloomFilter.create(EXPECTED_INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+        List<String> offerUrls = offerUrls("known", EXPECTED_INSERTIONS);
+        //when
+        offerUrls.forEach(filter::put);
+        //then
+        assertThat(offerUrls).allMatch(filter::mightContain);
+    }
+
+    @Test
+    public void should_keep_false_positive_rate_close_to_configured_probability() {
+        //given
+        OfferUrlBloomFilter filter = OfferUrlBloomFilter.create(EXPECTED_INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+        offerUrls("known", EXPECTED_INSERTIONS).forEach(filter::put);
+        //when
+        long falsePositives = offerUrls("unknown", 10_000).stream()
+                .filter(filter::mightContain)
+                .count();
+        //then
+        assertThat(falsePositives).isLessThan((long) (10_000 * FALSE_POSITIVE_PROBABILITY * 2));
+    }
+
+    @Test
+    public void should_not_count_url_put_again_as_new_insertion() {
+        //given
+        OfferUrlBloomFilter filter = OfferUrlBloomFilter.create(2, FALSE_POSITIVE_PROBABILITY);
+        //when
+        boolean firstPut = filter.put("https://offers.example/1");
+        boolean secondPut = filter.put("https://offers.example/1");
+        IntStream.range(0, 10).forEach(i -> filter.put("https://offers.example/1"));
+        //then
+        assertThat(firstPut).isTrue();
+        assertThat(secondPut).isFalse();
+        assertThat(filter.isSaturated()).isFalse();
+    }
+
+    @Test
+    public void should_become_saturated_after_more_distinct_urls_than_expected() {
+        //given
+        OfferUrlBloomFilter filter = OfferUrlBloomFilter.create(2, FALSE_POSITIVE_PROBABILITY);
+        //when
+        offerUrls("known", 3).forEach(filter::put);
+        //then
+        assertThat(filter.isSaturated()).isTrue();
+    }
+
+    @Test
+    public void should_restore_same_filter_from_written_bytes() {
+        //given
+        OfferUrlBloomFilter filter = OfferUrlBloomFilter.create(EXPECTED_INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+        List<String> knownUrls = offerUrls("known", 100);
+        knownUrls.forEach(filter::put);
+        ByteBuffer buffer = ByteBuffer.allocate(filter.sizeInBytes());
+        filter.writeTo(buffer);
+        //when
+        OfferUrlBloomFilter restored = OfferUrlBloomFilter.fromBytes(ByteBuffer.wrap(buffer.array()));
+        //then
+        assertThat(restored.expectedInsertions()).isEqualTo(filter.expectedInsertions());
+        assertThat(knownUrls).allMatch(restored::mightContain);
+        assertThat(offerUrls("unknown", 1000))
+                .allMatch(offerUrl -> restored.mightContain(offerUrl) == filter.mightContain(offerUrl));
+    }
+
+    @Test
+    public void should_reject_truncated_bytes() {
+        //given
+        OfferUrlBloomFilter filter = OfferUrlBloomFilter.create(EXPECTED_INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+        ByteBuffer buffer = ByteBuffer.allocate(filter.sizeInBytes());
+        filter.writeTo(buffer);
+        //when
+        Throwable thrown = catchThrowable(() -> OfferUrlBloomFilter.fromBytes(ByteBuffer.wrap(buffer.array(), 0, buffer.capacity() - 1)));
+        //then
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<String> offerUrls(String prefix, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> "https://offers.example/" + prefix + "/" + i)
+                .toList();
+    }
+}
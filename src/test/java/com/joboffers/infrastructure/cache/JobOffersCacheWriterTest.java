@@ -0,0 +1,78 @@
+package com.joboffers.infrastructure.cache;
+
+import com.joboffers.domain.offer.OffersVersion;
+import com.joboffers.domain.offer.dto.OfferResponseDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JobOffersCacheWriterTest {
+
+    @Test
+    void should_evict_saved_offers_from_offer_by_id_caches() {
+        //given
+        CacheManager cacheManager = new ConcurrentMapCacheManager("jobOffer", "jobOfferMisses");
+        cacheManager.getCache("jobOffer").put("1", "stale offer");
+        cacheManager.getCache("jobOffer").put("3", "untouched offer");
+        cacheManager.getCache("jobOfferMisses").put("2", "miss");
+        JobOffersCacheWriter cacheWriter = new JobOffersCacheWriter(cacheManager);
+        //when
+        cacheWriter.offersSaved(List.of(offer("1"), offer("2")));
+        //then
+        Cache offers = cacheManager.getCache("jobOffer");
+        assertThat(offers.get("1")).isNull();
+        assertThat(offers.get("3")).isNotNull();
+        assertThat(cacheManager.getCache("jobOfferMisses").get("2")).isNull();
+    }
+
+    @Test
+    void should_carry_cached_offers_forward_to_new_version_with_changed_offers_merged_in() {
+        //given
+        CacheManager cacheManager = new ConcurrentMapCacheManager("jobOffers");
+        OffersVersion version = new OffersVersion("epoch", 2);
+        OfferResponseDto updatedOffer = new OfferResponseDto("1", "company", "position", "2000", "https://someurl.pl/1");
+        cacheManager.getCache("jobOffers").put(version.previous().tag(), List.of(offer("1"), offer("2")));
+        JobOffersCacheWriter cacheWriter = new JobOffersCacheWriter(cacheManager);
+        //when
+        cacheWriter.offersVersionIncremented(version, List.of(updatedOffer, offer("3")));
+        //then
+        assertThat(cacheManager.getCache("jobOffers").get(version.tag(), List.class))
+                .containsExactly(updatedOffer, offer("2"), offer("3"));
+    }
+
+    @Test
+    void should_leave_new_version_to_be_loaded_when_previous_version_is_not_cached() {
+        //given
+        CacheManager cacheManager = new ConcurrentMapCacheManager("jobOffers");
+        OffersVersion version = new OffersVersion("epoch", 2);
+        JobOffersCacheWriter cacheWriter = new JobOffersCacheWriter(cacheManager);
+        //when
+        cacheWriter.offersVersionIncremented(version, List.of(offer("3")));
+        //then
+        assertThat(cacheManager.getCache("jobOffers").get(version.tag())).isNull();
+    }
+
+    @Test
+    void should_not_fail_saving_offers_when_cache_is_unavailable() {
+        //given
+        CacheManager cacheManager = mock(CacheManager.class);
+        when(cacheManager.getCache(anyString())).thenThrow(new RedisConnectionFailureException("redis is down"));
+        JobOffersCacheWriter cacheWriter = new JobOffersCacheWriter(cacheManager);
+        //when && then
+        assertThatCode(() -> cacheWriter.offersSaved(List.of(offer("1")))).doesNotThrowAnyException();
+    }
+
+    private static OfferResponseDto offer(String id) {
+        return new OfferResponseDto(id, "company", "position", "1000", "https://someurl.pl/" + id);
+    }
+}
@@ -0,0 +1,44 @@
+package com.joboffers.infrastructure.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NearCacheEntryTest {
+
+    private final RedisSerializer<Object> redisSerializer = RedisSerializer.java();
+
+    @Test
+    void should_keep_value_and_creation_time_when_serialized_to_redis() {
+        //given
+        NearCacheEntry entry = new NearCacheEntry(List.of("offer"), Instant.parse("2024-01-01T10:00:00Z"));
+        //when
+        Object deserialized = redisSerializer.deserialize(redisSerializer.serialize(entry));
+        //then
+        assertThat(NearCacheEntry.fromRemoteValue(deserialized)).isEqualTo(entry);
+    }
+
+    @Test
+    void should_treat_value_cached_without_entry_as_created_at_epoch() {
+        //when
+        NearCacheEntry entry = NearCacheEntry.fromRemoteValue("offer");
+        //then
+        assertThat(entry.value()).isEqualTo("offer");
+        assertThat(entry.createdAt()).isEqualTo(Instant.EPOCH);
+    }
+
+    @Test
+    void should_be_older_than_given_age_only_after_it_has_passed() {
+        //given
+        Instant createdAt = Instant.parse("2024-01-01T10:00:00Z");
+        NearCacheEntry entry = new NearCacheEntry("offer", createdAt);
+        //then
+        assertThat(entry.isOlderThan(Duration.ofMinutes(5), createdAt.plusSeconds(299))).isFalse();
+        assertThat(entry.isOlderThan(Duration.ofMinutes(5), createdAt.plusSeconds(301))).isTrue();
+    }
+}
@@ -0,0 +1,259 @@
+package com.joboffers.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.joboffers.domain.offer.AdjustableClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NearCacheTest {
+
+    private static final int CALLERS = 4;
+
+    private final ConcurrentMapCache remoteCache = new ConcurrentMapCache("jobOffers");
+    private final RedisCacheLoadLock loadLock = mock(RedisCacheLoadLock.class);
+    private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void shutDownCallers() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void should_call_loader_once_when_same_key_is_requested_concurrently() throws Exception {
+        //given
+        when(loadLock.tryLock(anyString(), anyString())).thenReturn(true);
+        NearCache cache = nearCache();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<String> loader = () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            release.await();
+            return "offers";
+        };
+        //when
+        List<Future<String>> results = getConcurrently(cache, loader);
+        loading.await(1, TimeUnit.SECONDS);
+        Thread.sleep(100);
+        release.countDown();
+        //then
+        for (Future<String> result : results) {
+            assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("offers");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(remoteCache.get("key")).isNotNull();
+    }
+
+    @Test
+    void should_release_waiting_callers_when_loader_throws_error() throws Exception {
+        //given
+        when(loadLock.tryLock(anyString(), anyString())).thenReturn(true);
+        NearCache cache = nearCache();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<String> loader = () -> {
+            loading.countDown();
+            release.await();
+            throw new StackOverflowError();
+        };
+        //when
+        List<Future<String>> results = getConcurrently(cache, loader);
+        loading.await(1, TimeUnit.SECONDS);
+        Thread.sleep(100);
+        release.countDown();
+        //then
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(1, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(StackOverflowError.class);
+        }
+    }
+
+    @Test
+    void should_wait_for_value_loaded_by_other_node_which_holds_load_lock() throws Exception {
+        //given
+        when(loadLock.tryLock(anyString(), anyString())).thenReturn(false);
+        when(loadLock.lockTimeToLive()).thenReturn(Duration.ofSeconds(5));
+        NearCache cache = nearCache();
+        AtomicInteger loads = new AtomicInteger();
+        //when
+        Future<String> result = callers.submit(() -> cache.get("key", () -> {
+            loads.incrementAndGet();
+            return "loaded locally";
+        }));
+        Thread.sleep(100);
+        remoteCache.put("key", new NearCacheEntry("loaded by other node", Instant.now()));
+        //then
+        assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("loaded by other node");
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void should_load_value_itself_when_other_node_does_not_finish_loading_before_lock_expires() {
+        //given
+        when(loadLock.tryLock(anyString(), anyString())).thenReturn(false);
+        when(loadLock.lockTimeToLive()).thenReturn(Duration.ofMillis(100));
+        NearCache cache = nearCache();
+        //when
+        String result = cache.get("key", () -> "loaded locally");
+        //then
+        assertThat(result).isEqualTo("loaded locally");
+    }
+
+    @Test
+    void should_not_reload_value_before_refresh_threshold() {
+        //given
+        when(loadLock.tryLock(anyString(), anyString())).thenReturn(true);
+        AdjustableClock clock = new AdjustableClock(Instant.parse("2024-01-01T10:00:00Z"));
+        NearCache cache = nearCache(Duration.ofSeconds(10), clock);
+        cache.get("key", () -> "first");
+        AtomicInteger loads = new AtomicInteger();
+        //when
+        clock.advanceBy(Duration.ofSeconds(9));
+        String result = cache.get("key", () -> {
+            loads.incrementAndGet();
+            return "second";
+        });
+        //then
+        assertThat(result).isEqualTo("first");
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void should_return_stale_value_and_reload_it_once_after_refresh_threshold() {
+        //given
+        when(loadLock.tryLock(anyString(), anyString())).thenReturn(true);
+        AdjustableClock clock = new AdjustableClock(Instant.parse("2024-01-01T10:00:00Z"));
+        NearCache cache = nearCache(Duration.ofSeconds(10), Runnable::run, clock);
+        cache.get("key", () -> "first");
+        AtomicInteger loads = new AtomicInteger();
+        Callable<String> loader = () -> {
+            loads.incrementAndGet();
+            return "second";
+        };
+        //when
+        clock.advanceBy(Duration.ofSeconds(11));
+        String stale = cache.get("key", loader);
+        String refreshed = cache.get("key", loader);
+        //then
+        assertThat(stale).isEqualTo("first");
+        assertThat(refreshed).isEqualTo("second");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void should_not_block_callers_while_refresh_is_in_flight() throws Exception {
+        //given
+        when(loadLock.tryLock(anyString(), anyString())).thenReturn(true);
+        AdjustableClock clock = new AdjustableClock(Instant.parse("2024-01-01T10:00:00Z"));
+        NearCache cache = nearCache(Duration.ofSeconds(10), callers, clock);
+        cache.get("key", () -> "first");
+        clock.advanceBy(Duration.ofSeconds(11));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<String> loader = () -> {
+            loads.incrementAndGet();
+            release.await();
+            return "second";
+        };
+        //when
+        String triggeringCaller = cache.get("key", loader);
+        String otherCaller = cache.get("key", loader);
+        release.countDown();
+        //then
+        assertThat(triggeringCaller).isEqualTo("first");
+        assertThat(otherCaller).isEqualTo("first");
+        await().atMost(Duration.ofSeconds(1))
+                .untilAsserted(() -> assertThat(remoteCache.get("key", NearCacheEntry.class).value()).isEqualTo("second"));
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void should_serve_stale_value_and_retry_refresh_when_refresh_fails() {
+        //given
+        when(loadLock.tryLock(anyString(), anyString())).thenReturn(true);
+        AdjustableClock clock = new AdjustableClock(Instant.parse("2024-01-01T10:00:00Z"));
+        NearCache cache = nearCache(Duration.ofSeconds(10), Runnable::run, clock);
+        cache.get("key", () -> "first");
+        clock.advanceBy(Duration.ofSeconds(11));
+        //when
+        String result = cache.get("key", () -> {
+            throw new IllegalStateException("upstream down");
+        });
+        cache.get("key", () -> "second");
+        //then
+        assertThat(result).isEqualTo("first");
+        assertThat(cache.get("key", () -> "unexpected")).isEqualTo("second");
+    }
+
+    @Test
+    void should_serve_stale_value_when_refresh_executor_rejects_refresh() {
+        //given
+        when(loadLock.tryLock(anyString(), anyString())).thenReturn(true);
+        AdjustableClock clock = new AdjustableClock(Instant.parse("2024-01-01T10:00:00Z"));
+        NearCache cache = nearCache(Duration.ofSeconds(10), runnable -> {
+            throw new RejectedExecutionException("refresh queue is full");
+        }, clock);
+        cache.get("key", () -> "first");
+        clock.advanceBy(Duration.ofSeconds(11));
+        //when
+        String result = cache.get("key", () -> "second");
+        //then
+        assertThat(result).isEqualTo("first");
+    }
+
+    private List<Future<String>> getConcurrently(NearCache cache, Callable<String> loader) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> cache.get("key", loader)));
+        }
+        return results;
+    }
+
+    private NearCache nearCache() {
+        return nearCache(null, Runnable::run, Clock.systemUTC());
+    }
+
+    private NearCache nearCache(Duration refreshAfter, Clock clock) {
+        return nearCache(refreshAfter, Runnable::run, clock);
+    }
+
+    private NearCache nearCache(Duration refreshAfter, Executor refreshExecutor, Clock clock) {
+        return new NearCache(
+                remoteCache,
+                Caffeine.newBuilder().maximumSize(100).build(),
+                invalidation -> {
+                },
+                loadLock,
+                Duration.ofMillis(10),
+                refreshAfter,
+                refreshExecutor,
+                clock,
+                "node");
+    }
+}
@@ -0,0 +1,114 @@
+package com.joboffers.infrastructure.cache;
+
+import com.joboffers.domain.offer.OffersVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RedisOffersVersionCounterTest {
+
+    private final Map<String, String> redis = new HashMap<>();
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final Clock clock = Clock.fixed(Instant.parse("2024-01-01T10:00:00Z"), ZoneOffset.UTC);
+    private ValueOperations<String, String> valueOperations;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void stubRedis() {
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenAnswer(invocation -> redis.get(invocation.<String>getArgument(0)));
+        when(valueOperations.multiGet(anyList())).thenAnswer(invocation ->
+                invocation.<List<String>>getArgument(0).stream().map(redis::get).toList());
+        when(valueOperations.setIfAbsent(anyString(), anyString())).thenAnswer(invocation ->
+                redis.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) == null);
+        when(valueOperations.increment(anyString())).thenAnswer(invocation ->
+                Long.parseLong(redis.merge(invocation.getArgument(0), "1",
+                        (current, one) -> String.valueOf(Long.parseLong(current) + 1))));
+    }
+
+    @Test
+    void should_keep_epoch_while_counter_is_incremented() {
+        //given
+        RedisOffersVersionCounter counter = new RedisOffersVersionCounter(redisTemplate, clock, Duration.ZERO, "offers-version");
+        OffersVersion initialVersion = counter.currentVersion();
+        //when
+        OffersVersion incrementedVersion = counter.incrementVersion();
+        //then
+        assertThat(initialVersion.counter()).isZero();
+        assertThat(incrementedVersion.counter()).isEqualTo(1);
+        assertThat(incrementedVersion.epoch()).isEqualTo(initialVersion.epoch());
+        assertThat(counter.currentVersion()).isEqualTo(incrementedVersion);
+    }
+
+    @Test
+    void should_not_reuse_version_tag_when_counter_restarts_after_redis_flush() {
+        //given
+        RedisOffersVersionCounter counter = new RedisOffersVersionCounter(redisTemplate, clock, Duration.ZERO, "offers-version");
+        counter.incrementVersion();
+        OffersVersion versionBeforeFlush = counter.currentVersion();
+        //when
+        redis.clear();
+        counter.incrementVersion();
+        OffersVersion versionAfterFlush = counter.currentVersion();
+        //then
+        assertThat(versionAfterFlush.counter()).isEqualTo(versionBeforeFlush.counter());
+        assertThat(versionAfterFlush.tag()).isNotEqualTo(versionBeforeFlush.tag());
+    }
+
+    @Test
+    void should_serve_version_locally_within_local_time_to_live() {
+        //given
+        RedisOffersVersionCounter counter = new RedisOffersVersionCounter(redisTemplate, clock, Duration.ofSeconds(1), "offers-version");
+        OffersVersion firstRead = counter.currentVersion();
+        //when
+        OffersVersion secondRead = counter.currentVersion();
+        //then
+        assertThat(secondRead).isEqualTo(firstRead);
+        verify(valueOperations, times(1)).multiGet(anyList());
+    }
+
+    @Test
+    void should_read_version_from_redis_again_after_increment_is_published() {
+        //given
+        RedisOffersVersionCounter counter = new RedisOffersVersionCounter(redisTemplate, clock, Duration.ofSeconds(1), "offers-version");
+        counter.currentVersion();
+        redis.merge("offers:version", "1", (current, one) -> String.valueOf(Long.parseLong(current) + 1));
+        //when
+        counter.onMessage(mock(Message.class), null);
+        OffersVersion version = counter.currentVersion();
+        //then
+        assertThat(version.counter()).isEqualTo(1);
+        verify(valueOperations, times(2)).multiGet(anyList());
+    }
+
+    @Test
+    void should_publish_incremented_version_and_drop_local_copy() {
+        //given
+        RedisOffersVersionCounter counter = new RedisOffersVersionCounter(redisTemplate, clock, Duration.ofSeconds(1), "offers-version");
+        counter.currentVersion();
+        //when
+        OffersVersion incrementedVersion = counter.incrementVersion();
+        //then
+        verify(redisTemplate).convertAndSend("offers-version", incrementedVersion.tag());
+        assertThat(counter.currentVersion()).isEqualTo(incrementedVersion);
+    }
+}
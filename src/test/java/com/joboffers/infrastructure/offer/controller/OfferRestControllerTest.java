@@ -0,0 +1,68 @@
+package com.joboffers.infrastructure.offer.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joboffers.domain.offer.OfferFacade;
+import com.joboffers.domain.offer.OffersVersion;
+import com.joboffers.infrastructure.offer.stream.OfferStreamBroadcaster;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class OfferRestControllerTest {
+
+    private final OfferFacade offerFacade = mock(OfferFacade.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        OffersResponseSnapshotCache snapshotCache =
+                new OffersResponseSnapshotCache(offerFacade, objectMapper, Clock.systemUTC(), Duration.ofMinutes(60));
+        OfferRestController controller = new OfferRestController(
+                offerFacade, objectMapper, snapshotCache, mock(OfferStreamBroadcaster.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        when(offerFacade.offersVersion()).thenReturn(new OffersVersion("epoch", 3));
+    }
+
+    @Test
+    void should_return_gzipped_offers_when_client_accepts_gzip() throws Exception {
+        mockMvc.perform(get("/offers").header(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"all-gzip-epoch-3\""))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Test
+    void should_return_identity_offers_when_client_refuses_gzip() throws Exception {
+        mockMvc.perform(get("/offers").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"all-epoch-3\""));
+    }
+
+    @Test
+    void should_return_identity_offers_when_accept_encoding_is_missing() throws Exception {
+        mockMvc.perform(get("/offers"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"all-epoch-3\""));
+    }
+
+    @Test
+    void should_return_not_modified_when_etag_matches_current_version() throws Exception {
+        mockMvc.perform(get("/offers").header(HttpHeaders.IF_NONE_MATCH, "\"all-epoch-3\""))
+                .andExpect(status().isNotModified());
+    }
+}
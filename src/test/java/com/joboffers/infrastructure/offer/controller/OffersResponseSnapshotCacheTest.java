@@ -0,0 +1,79 @@
+package com.joboffers.infrastructure.offer.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joboffers.domain.offer.OfferFacade;
+import com.joboffers.domain.offer.OffersVersion;
+import com.joboffers.domain.offer.dto.OfferResponseDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OffersResponseSnapshotCacheTest {
+
+    private static final OfferResponseDto OFFER = new OfferResponseDto("1", "company", "position", "1000", "url");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OfferFacade offerFacade = mock(OfferFacade.class);
+    private final OffersResponseSnapshotCache snapshotCache = new OffersResponseSnapshotCache(
+            offerFacade,
+            objectMapper,
+            Clock.fixed(Instant.parse("2024-01-01T10:00:00Z"), ZoneOffset.UTC),
+            Duration.ofMinutes(60));
+
+    @Test
+    void should_serialize_cached_offers_list_of_requested_version() throws IOException {
+        //given
+        OffersVersion version = new OffersVersion("epoch", 1);
+        when(offerFacade.findAllOffers(version)).thenReturn(List.of(OFFER));
+        //when
+        OffersResponseSnapshot snapshot = snapshotCache.snapshot(version);
+        //then
+        assertThat(objectMapper.readValue(snapshot.identityBody(), OfferResponseDto[].class)).containsExactly(OFFER);
+        verify(offerFacade, never()).findAllOffers();
+    }
+
+    @Test
+    void should_gzip_same_body_as_identity_body() throws IOException {
+        //given
+        when(offerFacade.findAllOffers(any(OffersVersion.class))).thenReturn(List.of(OFFER, OFFER));
+        //when
+        OffersResponseSnapshot snapshot = snapshotCache.snapshot(new OffersVersion("epoch", 1));
+        //then
+        assertThat(gunzip(snapshot.gzipBody())).isEqualTo(snapshot.identityBody());
+    }
+
+    @Test
+    void should_reuse_snapshot_until_version_changes() {
+        //given
+        when(offerFacade.findAllOffers(any(OffersVersion.class))).thenReturn(List.of(OFFER));
+        OffersResponseSnapshot first = snapshotCache.snapshot(new OffersVersion("epoch", 1));
+        //when
+        OffersResponseSnapshot sameVersion = snapshotCache.snapshot(new OffersVersion("epoch", 1));
+        OffersResponseSnapshot otherEpoch = snapshotCache.snapshot(new OffersVersion("other-epoch", 1));
+        //then
+        assertThat(sameVersion).isSameAs(first);
+        assertThat(otherEpoch).isNotSameAs(first);
+        verify(offerFacade, times(2)).findAllOffers(any(OffersVersion.class));
+    }
+
+    private byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return gzipInputStream.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.joboffers.infrastructure.offer.http;
+
+import com.joboffers.domain.offer.OfferFetchable;
+import com.joboffers.domain.offer.OffersChunkHandler;
+import com.joboffers.domain.offer.dto.JobOfferResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class CompositeOfferFetcherTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final List<CompositeOfferFetcher> fetchers = new ArrayList<>();
+
+    @AfterEach
+    void shutDownFetchers() {
+        fetchers.forEach(CompositeOfferFetcher::shutdown);
+    }
+
+    @Test
+    void should_merge_offers_from_all_sources_without_duplicated_urls() {
+        //given
+        CompositeOfferFetcher fetcher = compositeOf(
+                new OfferSource("first", () -> List.of(offer("a"), offer("b")), TIMEOUT, 1),
+                new OfferSource("second", () -> List.of(offer("b"), offer("c")), TIMEOUT, 1));
+        //when
+        List<JobOfferResponseDto> offers = fetcher.fetchOffers();
+        //then
+        assertThat(offers).extracting(JobOfferResponseDto::offerUrl)
+                .containsExactlyInAnyOrder("https://offers.example/a", "https://offers.example/b", "https://offers.example/c");
+    }
+
+    @Test
+    void should_return_offers_of_healthy_sources_when_one_source_fails() {
+        //given
+        CompositeOfferFetcher fetcher = compositeOf(
+                new OfferSource("failing", () -> {
+                    throw new IllegalStateException("source down");
+                }, TIMEOUT, 1),
+                new OfferSource("healthy", () -> List.of(offer("a")), TIMEOUT, 1));
+        //when
+        List<JobOfferResponseDto> offers = fetcher.fetchOffers();
+        //then
+        assertThat(offers).extracting(JobOfferResponseDto::offerUrl).containsExactly("https://offers.example/a");
+    }
+
+    @Test
+    void should_interrupt_source_which_does_not_finish_before_its_timeout() throws InterruptedException {
+        //given
+        CountDownLatch interrupted = new CountDownLatch(1);
+        OfferFetchable hangingSource = () -> {
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return List.of();
+        };
+        CompositeOfferFetcher fetcher = compositeOf(
+                new OfferSource("hanging", hangingSource, Duration.ofMillis(100), 1),
+                new OfferSource("healthy", () -> List.of(offer("a")), TIMEOUT, 1));
+        //when
+        List<JobOfferResponseDto> offers = fetcher.fetchOffers();
+        //then
+        assertThat(offers).extracting(JobOfferResponseDto::offerUrl).containsExactly("https://offers.example/a");
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void should_not_time_out_source_while_it_waits_for_slow_chunk_handler() {
+        //given
+        OfferFetchable chunkedSource = new OfferFetchable() {
+            @Override
+            public List<JobOfferResponseDto> fetchOffers() {
+                return List.of();
+            }
+
+            @Override
+            public void fetchOffers(int chunkSize, OffersChunkHandler chunkHandler) {
+                for (int i = 0; i < 6; i++) {
+                    chunkHandler.handle(List.of(offer(String.valueOf(i))));
+                }
+            }
+        };
+        CompositeOfferFetcher fetcher = compositeOf(new OfferSource("chunked", chunkedSource, Duration.ofMillis(200), 1));
+        List<String> handledUrls = new ArrayList<>();
+        //when
+        fetcher.fetchOffers(1, chunk -> {
+            sleep(100);
+            chunk.forEach(offer -> handledUrls.add(offer.offerUrl()));
+            return CompletableFuture.completedFuture(true);
+        });
+        //then
+        assertThat(handledUrls).hasSize(6);
+    }
+
+    @Test
+    void should_throw_cancellation_and_abandon_sources_when_fetching_thread_is_interrupted() throws Exception {
+        //given
+        CountDownLatch sourceStarted = new CountDownLatch(1);
+        CountDownLatch sourceInterrupted = new CountDownLatch(1);
+        OfferFetchable hangingSource = () -> {
+            sourceStarted.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                sourceInterrupted.countDown();
+            }
+            return List.of();
+        };
+        CompositeOfferFetcher fetcher = compositeOf(new OfferSource("hanging", hangingSource, TIMEOUT, 1));
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread fetchingThread = new Thread(() -> thrown.set(catchThrowable(fetcher::fetchOffers)));
+        fetchingThread.start();
+        sourceStarted.await(1, TimeUnit.SECONDS);
+        //when
+        fetchingThread.interrupt();
+        fetchingThread.join(1000);
+        //then
+        assertThat(thrown.get()).isInstanceOf(CancellationException.class);
+        assertThat(sourceInterrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void should_throw_cancellation_when_fetching_thread_is_interrupted_before_sources_are_submitted() {
+        //given
+        CompositeOfferFetcher fetcher = compositeOf(new OfferSource("healthy", () -> List.of(offer("a")), TIMEOUT, 1));
+        Thread.currentThread().interrupt();
+        //when
+        Throwable thrown = catchThrowable(fetcher::fetchOffers);
+        //then
+        assertThat(Thread.interrupted()).isTrue();
+        assertThat(thrown).isInstanceOf(CancellationException.class);
+    }
+
+    @Test
+    void should_report_result_of_chunk_handler_back_to_source() {
+        //given
+        List<Boolean> handledChunks = new ArrayList<>();
+        OfferFetchable pagedSource = new OfferFetchable() {
+            @Override
+            public List<JobOfferResponseDto> fetchOffers() {
+                return List.of();
+            }
+
+            @Override
+            public void fetchOffers(int chunkSize, OffersChunkHandler chunkHandler) {
+                handledChunks.add(chunkHandler.handle(List.of(offer("a"))).join());
+                handledChunks.add(chunkHandler.handle(List.of(offer("a"))).join());
+            }
+        };
+        CompositeOfferFetcher fetcher = compositeOf(new OfferSource("paged", pagedSource, TIMEOUT, 1));
+        //when
+        fetcher.fetchOffers();
+        //then
+        assertThat(handledChunks).containsExactly(true, false);
+    }
+
+    @Test
+    void should_skip_source_whose_previous_fetches_are_still_in_progress() {
+        //given
+        OfferSource busySource = new OfferSource("busy", () -> List.of(offer("a")), TIMEOUT, 1);
+        busySource.permits().acquireUninterruptibly();
+        CompositeOfferFetcher fetcher = compositeOf(busySource);
+        //when
+        List<JobOfferResponseDto> offers = fetcher.fetchOffers();
+        //then
+        assertThat(offers).isEmpty();
+    }
+
+    private CompositeOfferFetcher compositeOf(OfferSource... sources) {
+        CompositeOfferFetcher fetcher = new CompositeOfferFetcher(List.of(sources));
+        fetchers.add(fetcher);
+        return fetcher;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static JobOfferResponseDto offer(String path) {
+        return new JobOfferResponseDto("title", "company", "100", "https://offers.example/" + path);
+    }
+}
@@ -0,0 +1,89 @@
+package com.joboffers.infrastructure.offer.persistence;
+
+import com.joboffers.domain.offer.Offer;
+import com.joboffers.domain.offer.OfferBulkInsertException;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OfferBulkRepositoryImplTest {
+
+    private static final int DUPLICATE_KEY_CODE = 11000;
+    private static final int WRITE_CONFLICT_CODE = 112;
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulkOperations = mock(BulkOperations.class);
+    private final OfferBulkRepositoryImpl repository = new OfferBulkRepositoryImpl(mongoTemplate, 2);
+
+    @Test
+    void should_keep_offers_inserted_by_earlier_batches_when_later_batch_fails() {
+        //given
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), any(Class.class))).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        BulkOperationException duplicate = bulkFailure(new BulkWriteError(DUPLICATE_KEY_CODE, "duplicate", new BsonDocument(), 1));
+        BulkOperationException writeConflict = bulkFailure(new BulkWriteError(WRITE_CONFLICT_CODE, "conflict", new BsonDocument(), 0));
+        when(bulkOperations.execute())
+                .thenReturn(null)
+                .thenThrow(duplicate)
+                .thenThrow(writeConflict);
+        //when
+        OfferBulkInsertException thrown = catchThrowableOfType(
+                () -> repository.insertAllSkippingDuplicates(offers(6)), OfferBulkInsertException.class);
+        //then
+        assertThat(ErrorCategory.fromErrorCode(WRITE_CONFLICT_CODE)).isNotEqualTo(ErrorCategory.DUPLICATE_KEY);
+        assertThat(thrown.getCause()).isSameAs(writeConflict);
+        assertThat(thrown.insertedOffers()).extracting(Offer::offerUrl)
+                .containsExactly("https://offers.example/0", "https://offers.example/1",
+                        "https://offers.example/2", "https://offers.example/5");
+    }
+
+    @Test
+    void should_return_only_offers_whose_stored_fingerprint_differs() {
+        //given
+        when(mongoTemplate.find(any(Query.class), eq(Offer.class))).thenReturn(List.of(
+                Offer.builder().id("changed").fingerprint(1L).build(),
+                Offer.builder().id("unchanged").fingerprint(2L).build()));
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), any(Class.class))).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+        List<Offer> fetchedOffers = List.of(
+                Offer.builder().id("changed").fingerprint(10L).build(),
+                Offer.builder().id("unchanged").fingerprint(2L).build());
+        //when
+        List<Offer> updatedOffers = repository.updateAllChanged(fetchedOffers);
+        //then
+        assertThat(updatedOffers).extracting(Offer::id).containsExactly("changed");
+        verify(bulkOperations, times(1)).updateOne(any(Query.class), any(Update.class));
+    }
+
+    private static BulkOperationException bulkFailure(BulkWriteError error) {
+        BulkOperationException exception = mock(BulkOperationException.class);
+        when(exception.getErrors()).thenReturn(List.of(error));
+        return exception;
+    }
+
+    private static List<Offer> offers(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> Offer.builder().offerUrl("https://offers.example/" + i).build())
+                .toList();
+    }
+}
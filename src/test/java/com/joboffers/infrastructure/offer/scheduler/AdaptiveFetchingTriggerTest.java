@@ -0,0 +1,91 @@
+package com.joboffers.infrastructure.offer.scheduler;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class AdaptiveFetchingTriggerTest {
+
+    private static final Duration MIN_DELAY = Duration.ofMinutes(10);
+    private static final Duration MAX_DELAY = Duration.ofHours(4);
+
+    @Test
+    void should_halve_delay_when_run_added_new_offers() {
+        //given
+        AdaptiveFetchingTrigger trigger = new AdaptiveFetchingTrigger(Duration.ofHours(1), MIN_DELAY, MAX_DELAY);
+        //when
+        trigger.recordFetchedRun(5);
+        //then
+        assertThat(trigger.schedule().currentDelay()).isEqualTo(Duration.ofMinutes(30));
+        assertThat(trigger.schedule().lastAddedOffers()).isEqualTo(5);
+    }
+
+    @Test
+    void should_stretch_delay_by_half_when_run_added_no_offers() {
+        //given
+        AdaptiveFetchingTrigger trigger = new AdaptiveFetchingTrigger(Duration.ofHours(1), MIN_DELAY, MAX_DELAY);
+        //when
+        trigger.recordFetchedRun(0);
+        //then
+        assertThat(trigger.schedule().currentDelay()).isEqualTo(Duration.ofMinutes(90));
+    }
+
+    @Test
+    void should_double_delay_when_run_failed() {
+        //given
+        AdaptiveFetchingTrigger trigger = new AdaptiveFetchingTrigger(Duration.ofHours(1), MIN_DELAY, MAX_DELAY);
+        //when
+        trigger.recordFailedRun();
+        //then
+        assertThat(trigger.schedule().currentDelay()).isEqualTo(Duration.ofHours(2));
+    }
+
+    @Test
+    void should_keep_delay_between_min_and_max_delay() {
+        //given
+        AdaptiveFetchingTrigger shortening = new AdaptiveFetchingTrigger(Duration.ofMinutes(15), MIN_DELAY, MAX_DELAY);
+        AdaptiveFetchingTrigger backingOff = new AdaptiveFetchingTrigger(Duration.ofHours(3), MIN_DELAY, MAX_DELAY);
+        //when
+        shortening.recordFetchedRun(3);
+        shortening.recordFetchedRun(3);
+        backingOff.recordFailedRun();
+        //then
+        assertThat(shortening.schedule().currentDelay()).isEqualTo(MIN_DELAY);
+        assertThat(backingOff.schedule().currentDelay()).isEqualTo(MAX_DELAY);
+        assertThat(new AdaptiveFetchingTrigger(Duration.ofDays(1), MIN_DELAY, MAX_DELAY).schedule().currentDelay())
+                .isEqualTo(MAX_DELAY);
+    }
+
+    @Test
+    void should_reject_min_delay_greater_than_max_delay() {
+        //when
+        Throwable thrown = catchThrowable(() -> new AdaptiveFetchingTrigger(Duration.ofHours(1), MAX_DELAY, MIN_DELAY));
+        //then
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void should_fetch_right_away_and_then_current_delay_after_last_completion() {
+        //given
+        Instant now = Instant.parse("2024-01-01T10:00:00Z");
+        AdaptiveFetchingTrigger trigger = new AdaptiveFetchingTrigger(Duration.ofHours(1), MIN_DELAY, MAX_DELAY);
+        SimpleTriggerContext triggerContext = new SimpleTriggerContext(Clock.fixed(now, ZoneOffset.UTC));
+        //when
+        Instant firstFetchAt = trigger.nextExecution(triggerContext);
+        trigger.recordFetchedRun(1);
+        Instant lastCompletion = now.plusSeconds(20);
+        triggerContext.update(now, now, lastCompletion);
+        Instant secondFetchAt = trigger.nextExecution(triggerContext);
+        //then
+        assertThat(firstFetchAt).isEqualTo(now);
+        assertThat(secondFetchAt).isEqualTo(lastCompletion.plus(Duration.ofMinutes(30)));
+        assertThat(trigger.schedule().nextFetchAt()).isEqualTo(secondFetchAt);
+    }
+}
@@ -0,0 +1,37 @@
+package com.joboffers.infrastructure.offer.scheduler;
+
+import com.joboffers.domain.offer.OfferFacade;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HttpOffersSchedulerTest {
+
+    private final OfferFacade offerFacade = mock(OfferFacade.class);
+    private final MongoSchedulerLock schedulerLock = mock(MongoSchedulerLock.class);
+    private final AdaptiveFetchingTrigger fetchingTrigger =
+            new AdaptiveFetchingTrigger(Duration.ofHours(1), Duration.ofMinutes(10), Duration.ofHours(4));
+    private final HttpOffersScheduler scheduler = new HttpOffersScheduler(offerFacade, schedulerLock, fetchingTrigger);
+
+    @Test
+    void should_record_failed_run_when_lock_cannot_be_acquired_because_mongo_is_down() {
+        //given
+        when(schedulerLock.tryAcquire("offers-fetching"))
+                .thenThrow(new DataAccessResourceFailureException("mongo is down"));
+        //when
+        Throwable thrown = catchThrowable(scheduler::fetchAllOffersAndSaveAllIfNotExists);
+        //then
+        assertThat(thrown).isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(fetchingTrigger.schedule().currentDelay()).isEqualTo(Duration.ofHours(2));
+        verify(schedulerLock, never()).release(any());
+    }
+}
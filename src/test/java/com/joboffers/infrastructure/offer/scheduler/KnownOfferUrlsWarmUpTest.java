@@ -0,0 +1,46 @@
+package com.joboffers.infrastructure.offer.scheduler;
+
+import com.joboffers.domain.offer.OfferFacade;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KnownOfferUrlsWarmUpTest {
+
+    private static final String LOCK_NAME = "offer-url-canonicalization";
+
+    private final OfferFacade offerFacade = mock(OfferFacade.class);
+    private final MongoSchedulerLock schedulerLock = mock(MongoSchedulerLock.class);
+    private final KnownOfferUrlsWarmUp warmUp = new KnownOfferUrlsWarmUp(offerFacade, schedulerLock);
+
+    @Test
+    void should_canonicalize_stored_offer_urls_under_lock_and_release_it() {
+        //given
+        SchedulerLease lease = new SchedulerLease(LOCK_NAME, 1, Instant.MAX, Clock.systemUTC());
+        when(schedulerLock.tryAcquire(LOCK_NAME)).thenReturn(Optional.of(lease));
+        //when
+        warmUp.warmUpKnownOfferUrls();
+        //then
+        verify(offerFacade).canonicalizeStoredOfferUrls();
+        verify(schedulerLock).release(lease);
+        verify(offerFacade).warmUpKnownOfferUrls();
+    }
+
+    @Test
+    void should_only_warm_up_known_offer_urls_when_other_node_canonicalizes_them() {
+        //given
+        when(schedulerLock.tryAcquire(LOCK_NAME)).thenReturn(Optional.empty());
+        //when
+        warmUp.warmUpKnownOfferUrls();
+        //then
+        verify(offerFacade, never()).canonicalizeStoredOfferUrls();
+        verify(offerFacade).warmUpKnownOfferUrls();
+    }
+}
@@ -0,0 +1,112 @@
+package com.joboffers.infrastructure.offer.scheduler;
+
+import com.joboffers.domain.offer.AdjustableClock;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers(disabledWithoutDocker = true)
+class MongoSchedulerLockIntegrationTest {
+
+    private static final String LOCK_NAME = "offers-fetching";
+    private static final Duration LEASE_TIME = Duration.ofMinutes(10);
+
+    @Container
+    private static final MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:4.0.10"));
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+
+    private final AdjustableClock clock = new AdjustableClock(Instant.parse("2024-01-01T10:00:00Z"));
+    private final MongoSchedulerLock firstNode = new MongoSchedulerLock(mongoTemplate, clock, LEASE_TIME);
+    private final MongoSchedulerLock secondNode = new MongoSchedulerLock(mongoTemplate, clock, LEASE_TIME);
+
+    @BeforeAll
+    static void connect() {
+        mongoClient = MongoClients.create(mongoDBContainer.getReplicaSetUrl());
+        mongoTemplate = new MongoTemplate(mongoClient, "test");
+    }
+
+    @AfterAll
+    static void disconnect() {
+        mongoClient.close();
+    }
+
+    @BeforeEach
+    void dropLocks() {
+        mongoTemplate.dropCollection("scheduler_locks");
+    }
+
+    @AfterEach
+    void shutDownRenewals() {
+        firstNode.shutdown();
+        secondNode.shutdown();
+    }
+
+    @Test
+    void should_acquire_free_lock_and_keep_other_node_out_while_lease_is_held() {
+        //when
+        Optional<SchedulerLease> firstLease = firstNode.tryAcquire(LOCK_NAME);
+        Optional<SchedulerLease> secondLease = secondNode.tryAcquire(LOCK_NAME);
+        //then
+        assertThat(firstLease).isPresent();
+        assertThat(firstLease.get().isHeld()).isTrue();
+        assertThat(secondLease).isEmpty();
+    }
+
+    @Test
+    void should_let_other_node_take_over_expired_lease_with_next_token() {
+        //given
+        SchedulerLease firstLease = firstNode.tryAcquire(LOCK_NAME).orElseThrow();
+        //when
+        clock.advanceBy(LEASE_TIME.plusSeconds(1));
+        Optional<SchedulerLease> secondLease = secondNode.tryAcquire(LOCK_NAME);
+        //then
+        assertThat(firstLease.isHeld()).isFalse();
+        assertThat(secondLease).isPresent();
+        assertThat(secondLease.get().isHeld()).isTrue();
+        assertThat(secondLease.get().token()).isEqualTo(firstLease.token() + 1);
+    }
+
+    @Test
+    void should_keep_lease_held_past_its_first_expiry_when_renewed() {
+        //given
+        SchedulerLease firstLease = firstNode.tryAcquire(LOCK_NAME).orElseThrow();
+        clock.advanceBy(LEASE_TIME.dividedBy(2));
+        //when
+        firstNode.renew(firstLease);
+        clock.advanceBy(LEASE_TIME.dividedBy(2).plusSeconds(1));
+        //then
+        assertThat(firstLease.isHeld()).isTrue();
+        assertThat(secondNode.tryAcquire(LOCK_NAME)).isEmpty();
+    }
+
+    @Test
+    void should_lose_lease_when_renewal_finds_it_taken_over() {
+        //given
+        SchedulerLease firstLease = firstNode.tryAcquire(LOCK_NAME).orElseThrow();
+        clock.advanceBy(LEASE_TIME.plusSeconds(1));
+        SchedulerLease secondLease = secondNode.tryAcquire(LOCK_NAME).orElseThrow();
+        //when
+        firstNode.renew(firstLease);
+        //then
+        assertThat(firstLease.isHeld()).isFalse();
+        assertThat(secondLease.isHeld()).isTrue();
+        assertThat(firstNode.tryAcquire(LOCK_NAME)).isEmpty();
+    }
+}
@@ -0,0 +1,81 @@
+package com.joboffers.infrastructure.offer.stream;
+
+import com.joboffers.domain.offer.dto.OfferResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class OfferStreamBroadcasterTest {
+
+    private static final int BUFFER_SIZE = 8;
+
+    private final OfferStreamBroadcaster broadcaster =
+            new OfferStreamBroadcaster(BUFFER_SIZE, Duration.ofMinutes(30), Duration.ofMillis(200), 1);
+
+    @AfterEach
+    void shutDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void should_keep_subscriber_connected_when_batch_is_larger_than_buffer() throws IOException {
+        //given
+        SseEmitter emitter = mock(SseEmitter.class);
+        broadcaster.subscribe(emitter);
+        //when
+        broadcaster.offersSaved(offers(BUFFER_SIZE * 3));
+        //then
+        verify(emitter, timeout(1000).atLeast(BUFFER_SIZE)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter, never()).complete();
+    }
+
+    @Test
+    void should_disconnect_subscriber_whose_send_blocks_longer_than_send_timeout() throws Exception {
+        //given
+        CountDownLatch neverReleased = new CountDownLatch(1);
+        SseEmitter stalledEmitter = mock(SseEmitter.class);
+        doAnswer(invocation -> {
+            try {
+                neverReleased.await();
+            } catch (InterruptedException e) {
+                throw new IOException("write interrupted");
+            }
+            return null;
+        }).when(stalledEmitter).send(any(SseEmitter.SseEventBuilder.class));
+        CountDownLatch stalledEmitterCompleted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            stalledEmitterCompleted.countDown();
+            return null;
+        }).when(stalledEmitter).complete();
+        SseEmitter healthyEmitter = mock(SseEmitter.class);
+        broadcaster.subscribe(stalledEmitter);
+        broadcaster.subscribe(healthyEmitter);
+        //when
+        broadcaster.offersSaved(offers(1));
+        //then
+        assertThat(stalledEmitterCompleted.await(1, TimeUnit.SECONDS)).isTrue();
+        verify(healthyEmitter, timeout(1000)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(healthyEmitter, never()).complete();
+    }
+
+    private static List<OfferResponseDto> offers(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new OfferResponseDto(String.valueOf(i), "company", "position", "1000", "url" + i))
+                .toList();
+    }
+}
@@ -0,0 +1,82 @@
+package com.joboffers.infrastructure.offer.stream;
+
+import com.joboffers.domain.offer.dto.OfferResponseDto;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class OfferStreamSubscriberTest {
+
+    private final SseEmitter emitter = mock(SseEmitter.class);
+
+    @Test
+    void should_drop_oldest_offers_and_report_them_when_buffer_overflows() throws IOException {
+        //given
+        OfferStreamSubscriber subscriber = new OfferStreamSubscriber(emitter, 2);
+        //when
+        subscriber.enqueue(offer("1"));
+        subscriber.enqueue(offer("2"));
+        subscriber.enqueue(offer("3"));
+        subscriber.startDraining();
+        boolean drainAgain = subscriber.drain(10);
+        //then
+        assertThat(drainAgain).isFalse();
+        assertThat(sentEvents(3)).containsExactly(
+                "event:offers-dropped|data:1||",
+                "id:2|event:offer|data:" + offer("2") + "||",
+                "id:3|event:offer|data:" + offer("3") + "||");
+    }
+
+    @Test
+    void should_stop_after_max_events_and_ask_for_another_drain() throws IOException {
+        //given
+        OfferStreamSubscriber subscriber = new OfferStreamSubscriber(emitter, 10);
+        List.of("1", "2", "3").forEach(id -> subscriber.enqueue(offer(id)));
+        subscriber.startDraining();
+        //when
+        boolean drainAgain = subscriber.drain(2);
+        boolean drainAfterRest = subscriber.drain(2);
+        //then
+        assertThat(drainAgain).isTrue();
+        assertThat(drainAfterRest).isFalse();
+        assertThat(sentEvents(3)).hasSize(3);
+    }
+
+    @Test
+    void should_send_updated_offers_as_separate_event() throws IOException {
+        //given
+        OfferStreamSubscriber subscriber = new OfferStreamSubscriber(emitter, 10);
+        subscriber.enqueue(offer("1"));
+        subscriber.enqueueUpdate(offer("2"));
+        subscriber.startDraining();
+        //when
+        subscriber.drain(10);
+        //then
+        assertThat(sentEvents(2)).containsExactly(
+                "id:1|event:offer|data:" + offer("1") + "||",
+                "id:2|event:offer-updated|data:" + offer("2") + "||");
+    }
+
+    private List<String> sentEvents(int count) throws IOException {
+        ArgumentCaptor<SseEmitter.SseEventBuilder> events = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+        verify(emitter, times(count)).send(events.capture());
+        return events.getAllValues().stream()
+                .map(event -> event.build().stream()
+                        .map(data -> data.getData().toString().replace("\n", "|"))
+                        .collect(Collectors.joining()))
+                .toList();
+    }
+
+    private static OfferResponseDto offer(String id) {
+        return new OfferResponseDto(id, "company", "position", "1000", "url" + id);
+    }
+}